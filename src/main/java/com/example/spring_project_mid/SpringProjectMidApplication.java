@@ -2,8 +2,10 @@ package com.example.spring_project_mid;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SpringProjectMidApplication {
     public static void main(String[] args) {
         SpringApplication.run(SpringProjectMidApplication.class, args);
@@ -0,0 +1,65 @@
+package com.example.spring_project_mid.config;
+
+import com.example.spring_project_mid.dto.ContentVersion;
+import com.example.spring_project_mid.model.User;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import java.util.Map;
+import java.util.function.BiFunction;
+
+/**
+ * Answers conditional GETs with 304 before the handler, its @ModelAttribute methods (e.g. the
+ * navbar notifications) or the template run. The resolver maps the URI variables and the current
+ * viewer to the page's version, or returns null when it cannot tell.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    private final BiFunction<Map<String, String>, User, ContentVersion> resolver;
+
+    public ConditionalGetInterceptor(BiFunction<Map<String, String>, User, ContentVersion> resolver) {
+        this.resolver = resolver;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+        // A pending flash message (e.g. "You can only edit your own comments.") must be rendered
+        if (!CollectionUtils.isEmpty(RequestContextUtils.getInputFlashMap(request))) {
+            return true;
+        }
+
+        Map<String, String> uriVariables =
+                (Map<String, String>) request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        ContentVersion version;
+        try {
+            version = resolver.apply(uriVariables != null ? uriVariables : Map.of(), currentUser());
+        } catch (NumberFormatException e) {
+            // e.g. /posts/create also matches /posts/{id}
+            return true;
+        }
+        if (version == null) {
+            return true;
+        }
+
+        // Personalised pages: let the browser keep a copy, but only after revalidating it with us
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "private, no-cache");
+        return !new ServletWebRequest(request, response).checkNotModified(version.etag(), version.lastModified());
+    }
+
+    private static User currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return (authentication != null && authentication.getPrincipal() instanceof User user) ? user : null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.spring_project_mid.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Creates the PostgreSQL-specific indexes that Hibernate's schema update cannot express
+ * (extensions, operator classes, expression indexes) and relaxes constraints it never drops on
+ * existing tables. Every statement is idempotent, and a
+ * failure (e.g. no permission to create the extension) only costs speed, so it is logged and skipped.
+ * The same statements are listed in Schema.sql.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class DatabaseIndexInitializer {
+
+    private static final List<String> STATEMENTS = List.of(
+            "CREATE EXTENSION IF NOT EXISTS pg_trgm",
+            // Admin user search: substring matches on lower(column), see UserSpecifications.keyword
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_display_name_trgm ON users USING gin (lower(display_name) gin_trgm_ops)",
+            // Admin user list: keyset pages per sort column
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_username_id ON users (username, id)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_id ON users (email, id)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_role_id ON users (role, id)",
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_enabled_id ON users (enabled, id)",
+            // Unread badge: counts only the (few) unread rows of a user, see UnreadNotificationCounter
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_unread ON notifications (user_id) WHERE is_read = false",
+            // Notifications page and dropdown: a user's newest first, keyset-paged by (created_at, id)
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_user_created ON notifications (user_id, created_at, id)",
+            // Retention: the oldest read notifications, see NotificationRetentionService
+            "CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_notifications_read_created ON notifications (created_at) WHERE is_read = true",
+            // Typed notifications are rendered on read and store no message (see NotificationRenderer)
+            "ALTER TABLE notifications ALTER COLUMN message DROP NOT NULL",
+            "ALTER TABLE notifications_archive ALTER COLUMN message DROP NOT NULL"
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void createIndexes() {
+        String database = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return;
+        }
+        for (String statement : STATEMENTS) {
+            try {
+                jdbcTemplate.execute(statement);
+            } catch (DataAccessException e) {
+                log.warn("Skipped index statement '{}': {}", statement, e.getMostSpecificCause().getMessage());
+            }
+        }
+    }
+}
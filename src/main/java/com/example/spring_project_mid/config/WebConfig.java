@@ -0,0 +1,30 @@
+package com.example.spring_project_mid.config;
+
+import com.example.spring_project_mid.service.ContentVersionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final ContentVersionService contentVersionService;
+
+    /**
+     * Conditional GET for the pages that are re-fetched after every like/save redirect.
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(
+                        (vars, viewer) -> contentVersionService.feed(viewer)))
+                .addPathPatterns("/");
+        registry.addInterceptor(new ConditionalGetInterceptor(
+                        (vars, viewer) -> contentVersionService.post(Long.valueOf(vars.get("id")), viewer)))
+                .addPathPatterns("/posts/{id}");
+        registry.addInterceptor(new ConditionalGetInterceptor(
+                        (vars, viewer) -> contentVersionService.profile(vars.get("username"), viewer)))
+                .addPathPatterns("/users/{username}");
+    }
+}
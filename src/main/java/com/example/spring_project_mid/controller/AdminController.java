@@ -1,16 +1,33 @@
 package com.example.spring_project_mid.controller;
 
+import com.example.spring_project_mid.dto.UserDirectoryPage;
+import com.example.spring_project_mid.event.UsersChangedEvent;
 import com.example.spring_project_mid.model.User;
 import com.example.spring_project_mid.model.enums.Role;
-import com.example.spring_project_mid.repository.PostRepository;
 import com.example.spring_project_mid.repository.UserRepository;
+import com.example.spring_project_mid.service.AdminStatsService;
+import com.example.spring_project_mid.service.ContentVersionService;
+import com.example.spring_project_mid.service.NotificationRetentionService;
+import com.example.spring_project_mid.service.NotificationService;
+import com.example.spring_project_mid.service.PostCardCache;
+import com.example.spring_project_mid.service.PostSummaryCache;
+import com.example.spring_project_mid.service.SearchSuggestService;
+import com.example.spring_project_mid.service.TimelineCache;
+import com.example.spring_project_mid.service.UserDirectoryService;
+import com.example.spring_project_mid.service.UserImportService;
 import lombok.RequiredArgsConstructor;
-import java.util.List;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 
 @Controller
 @RequestMapping("/admin")
@@ -19,20 +36,33 @@ import org.springframework.web.bind.annotation.*;
 public class AdminController {
 
     private final UserRepository userRepository;
-    private final PostRepository postRepository;
+    private final TimelineCache timelineCache;
+    private final PostSummaryCache postSummaryCache;
+    private final PostCardCache postCardCache;
+    private final ContentVersionService contentVersionService;
+    private final SearchSuggestService searchSuggestService;
+    private final UserDirectoryService userDirectoryService;
+    private final AdminStatsService adminStatsService;
+    private final UserImportService userImportService;
+    private final NotificationService notificationService;
+    private final NotificationRetentionService notificationRetentionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Displays the admin dashboard with statistics.
      */
     @GetMapping("")
     public String dashboard(Model model) {
-        model.addAttribute("userCount", userRepository.count());
-        model.addAttribute("postCount", postRepository.count());
+        model.addAttribute("stats", adminStatsService.snapshot());
+        model.addAttribute("timelineCacheStats", timelineCache.stats());
+        model.addAttribute("summaryCacheStats", postSummaryCache.stats());
+        model.addAttribute("cardCacheStats", postCardCache.stats());
+        model.addAttribute("retentionStats", notificationRetentionService.stats());
         return "admin/dashboard";
     }
 
     /**
-     * Lists users with Search, Filter, and Sort functionality.
+     * Lists users with Search, Filter, and Sort functionality, one keyset page at a time.
      */
     @GetMapping("/users")
     public String listUsers(Model model,
@@ -40,18 +70,25 @@ public class AdminController {
                             @RequestParam(value = "sortDir", defaultValue = "asc") String sortDir,
                             @RequestParam(value = "keyword", required = false) String keyword,
                             @RequestParam(value = "role", required = false) Role role,
-                            @RequestParam(value = "status", required = false) Boolean status) {
-
-        Sort sort = sortDir.equalsIgnoreCase(Sort.Direction.ASC.name()) ?
-                Sort.by(sortField).ascending() : Sort.by(sortField).descending();
-
-        List<User> users = userRepository.searchUsers(keyword, role, status, sort);
-
-        model.addAttribute("users", users);
+                            @RequestParam(value = "status", required = false) Boolean status,
+                            @RequestParam(value = "after", required = false) String after,
+                            @RequestParam(value = "before", required = false) String before) {
+
+        if (!UserDirectoryService.SORT_FIELDS.contains(sortField)) {
+            sortField = "id";
+        }
+        boolean ascending = !sortDir.equalsIgnoreCase(Sort.Direction.DESC.name());
+        UserDirectoryPage page = userDirectoryService.search(keyword, role, status, sortField, ascending, after, before);
+
+        model.addAttribute("users", page.users());
+        model.addAttribute("previousCursor", page.previousCursor());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("totalUsers", page.total());
+        model.addAttribute("totalCapped", page.totalCapped());
 
         model.addAttribute("sortField", sortField);
-        model.addAttribute("sortDir", sortDir);
-        model.addAttribute("reverseSortDir", sortDir.equals("asc") ? "desc" : "asc");
+        model.addAttribute("sortDir", ascending ? "asc" : "desc");
+        model.addAttribute("reverseSortDir", ascending ? "desc" : "asc");
 
         model.addAttribute("keyword", keyword);
         model.addAttribute("selectedRole", role);
@@ -72,19 +109,47 @@ public class AdminController {
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setEnabled(!user.isEnabled());
         userRepository.save(user);
+        contentVersionService.profileChanged(id);
+        searchSuggestService.userChanged(id);
         return "redirect:/admin/users";
     }
 
     /**
-     * Deletes a user by ID.
+     * Deletes a user by ID. Caches, statistics and suggestions are updated once the deletion commits.
      */
     @PostMapping("/users/{id}/delete")
     @PreAuthorize("hasRole('SUPER_ADMIN')")
+    @Transactional
     public String deleteUser(@PathVariable Long id) {
+        notificationService.deleteAllFor(id);
         userRepository.deleteById(id);
+        eventPublisher.publishEvent(new UsersChangedEvent(List.of(id), true));
         return "redirect:/admin/users";
     }
 
+    /**
+     * Displays the CSV import form for creating many accounts at once.
+     */
+    @GetMapping("/users/import")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public String importUsersForm() {
+        return "admin/import-users";
+    }
+
+    /**
+     * Imports accounts from an uploaded CSV file and shows how many were created and which rows were skipped.
+     */
+    @PostMapping("/users/import")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public String importUsers(@RequestParam("file") MultipartFile file, Model model) {
+        try (InputStream csv = file.getInputStream()) {
+            model.addAttribute("result", userImportService.importCsv(csv));
+        } catch (IOException | RuntimeException e) {
+            model.addAttribute("error", e.getMessage());
+        }
+        return "admin/import-users";
+    }
+
     /**
      * Displays the user edit form.
      */
@@ -113,6 +178,7 @@ public class AdminController {
         user.setRole(role);
 
         userRepository.save(user);
+        contentVersionService.profileChanged(id);
         return "redirect:/admin/users";
     }
 }
\ No newline at end of file
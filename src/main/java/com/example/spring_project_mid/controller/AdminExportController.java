@@ -0,0 +1,60 @@
+package com.example.spring_project_mid.controller;
+
+import com.example.spring_project_mid.service.ExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/admin/export")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'SUB_ADMIN')")
+public class AdminExportController {
+
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    // A full export can run far longer than an ordinary async request
+    @Value("${export.timeout:PT6H}")
+    private Duration timeout;
+
+    /**
+     * Downloads every user, post or comment as CSV (default) or NDJSON, optionally gzip-compressed.
+     * The file is streamed while it is read, so even very large exports start immediately; the
+     * download has its own timeout rather than the application-wide one.
+     */
+    @GetMapping("/{dataset:users|posts|comments}")
+    public WebAsyncTask<Void> export(
+            @PathVariable String dataset,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip,
+            HttpServletResponse response
+    ) {
+        ExportService.Dataset rows = ExportService.Dataset.valueOf(dataset.toUpperCase());
+        ExportService.Format output = format.equalsIgnoreCase("ndjson") ? ExportService.Format.NDJSON : ExportService.Format.CSV;
+
+        String filename = dataset + "-" + LocalDate.now() + (output == ExportService.Format.NDJSON ? ".ndjson" : ".csv")
+                + (gzip ? ".gz" : "");
+        response.setContentType((gzip ? GZIP : output == ExportService.Format.NDJSON ? NDJSON : CSV).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString());
+        response.setHeader("Cache-Control", "no-store");
+        // Ask nginx-style proxies not to buffer the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return new WebAsyncTask<>(timeout.toMillis(), () -> {
+            exportService.export(rows, output, gzip, response.getOutputStream());
+            return null;
+        });
+    }
+}
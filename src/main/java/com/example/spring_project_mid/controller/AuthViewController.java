@@ -1,16 +1,20 @@
 package com.example.spring_project_mid.controller;
 
 import com.example.spring_project_mid.dto.*;
-import com.example.spring_project_mid.model.Comment;
-import com.example.spring_project_mid.model.Post;
-import com.example.spring_project_mid.model.SavedPost;
 import com.example.spring_project_mid.model.User;
 import com.example.spring_project_mid.repository.CommentRepository;
 import com.example.spring_project_mid.repository.PostRepository;
 import com.example.spring_project_mid.repository.SavedPostRepository;
 import com.example.spring_project_mid.repository.UserRepository;
 import com.example.spring_project_mid.service.AuthService;
+import com.example.spring_project_mid.service.ContentVersionService;
+import com.example.spring_project_mid.service.FeedService;
 import com.example.spring_project_mid.service.PinataService;
+import com.example.spring_project_mid.service.PostCardCache;
+import com.example.spring_project_mid.service.PostSearchService;
+import com.example.spring_project_mid.service.SearchSuggestService;
+import com.example.spring_project_mid.service.PostSummaryService;
+import com.example.spring_project_mid.service.ViewerStateService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -28,6 +32,8 @@ import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
 
 @Controller
 @RequiredArgsConstructor
@@ -39,6 +45,13 @@ public class AuthViewController {
     private final UserRepository userRepository;
     private final PinataService pinataService;
     private final SavedPostRepository savedPostRepository;
+    private final FeedService feedService;
+    private final ViewerStateService viewerStateService;
+    private final PostSummaryService postSummaryService;
+    private final PostCardCache postCardCache;
+    private final ContentVersionService contentVersionService;
+    private final PostSearchService postSearchService;
+    private final SearchSuggestService searchSuggestService;
 
     @GetMapping("/register")
     public String showRegisterForm(Model model) {
@@ -123,38 +136,93 @@ public class AuthViewController {
     }
 
     @GetMapping("/")
-    public String showHomePage(Model model) {
-        List<Post> posts = postRepository.findAllBySuspendedFalseOrderByCreatedAtDesc();
-        model.addAttribute("posts", posts);
+    public String showHomePage(Model model, @AuthenticationPrincipal User viewer) {
+        addFeedPage(model, feedService.loadPage(null), "latest", viewer);
         return "home";
     }
 
+    /**
+     * Home page with the posts ranked by recent engagement instead of by date.
+     */
+    @GetMapping("/hot")
+    public String showHotPage(Model model, @AuthenticationPrincipal User viewer) {
+        addFeedPage(model, feedService.loadHotPage(0), "hot", viewer);
+        return "home";
+    }
+
+    /**
+     * Returns the next page of post cards for the infinite scroll on the home page.
+     */
+    @GetMapping("/feed")
+    public String loadFeedPage(@RequestParam(value = "cursor", required = false) String cursor,
+                               Model model,
+                               @AuthenticationPrincipal User viewer) {
+        addFeedPage(model, feedService.loadPage(FeedCursor.parse(cursor)), "latest", viewer);
+        return "home :: feedPage";
+    }
+
+    @GetMapping("/feed/hot")
+    public String loadHotFeedPage(@RequestParam(value = "offset", defaultValue = "0") int offset,
+                                  Model model,
+                                  @AuthenticationPrincipal User viewer) {
+        addFeedPage(model, feedService.loadHotPage(offset), "hot", viewer);
+        return "home :: feedPage";
+    }
+
+    /**
+     * Full-text search over posts (the navbar search box), best matches first.
+     */
+    @GetMapping("/search")
+    public String showSearchResults(@RequestParam(value = "q", defaultValue = "") String query,
+                                    Model model,
+                                    @AuthenticationPrincipal User viewer) {
+        addFeedPage(model, postSearchService.search(query, 0), "search", viewer);
+        model.addAttribute("query", query);
+        return "home";
+    }
+
+    @GetMapping("/search/page")
+    public String loadSearchResultsPage(@RequestParam(value = "q", defaultValue = "") String query,
+                                        @RequestParam(value = "page", defaultValue = "0") int page,
+                                        Model model,
+                                        @AuthenticationPrincipal User viewer) {
+        addFeedPage(model, postSearchService.search(query, page), "search", viewer);
+        model.addAttribute("query", query);
+        return "home :: feedPage";
+    }
+
+    private void addFeedPage(Model model, FeedPage page, String tab, User viewer) {
+        model.addAttribute("posts", page.posts());
+        model.addAttribute("nextCursor", page.nextCursor());
+        model.addAttribute("tab", tab);
+        model.addAttribute("cardContents", postCardCache.contents(page.posts()));
+        model.addAttribute("viewerState", viewerStateService.forPosts(viewer, summaryIds(page.posts())));
+    }
+
     @GetMapping("/profile")
-    public String showProfilePage(Model model) {
+    public String showProfilePage(Model model, @AuthenticationPrincipal User viewer) {
         String username = SecurityContextHolder.getContext().getAuthentication().getName();
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
         // Owner sees ALL their posts (including suspended ones)
-        List<Post> posts = postRepository.findAllByUserOrderByCreatedAtDesc(user);
-        List<Comment> comments = commentRepository.findByUserOrderByCreatedAtDesc(user);
+        List<PostSummary> posts = postSummaryService.withImages(postRepository.findSummariesByUser(user.getId()));
+        List<CommentSummary> comments = commentRepository.findSummariesByUser(user.getId());
+        List<Object> activities = activities(posts, comments);
 
-        List<Object> activities = new ArrayList<>();
-        activities.addAll(posts);
-        activities.addAll(comments);
-
-        activities.sort((o1, o2) -> {
-            LocalDateTime t1 = (o1 instanceof Post) ? ((Post) o1).getCreatedAt() : ((Comment) o1).getCreatedAt();
-            LocalDateTime t2 = (o2 instanceof Post) ? ((Post) o2).getCreatedAt() : ((Comment) o2).getCreatedAt();
-            return t2.compareTo(t1);
-        });
+        List<PostSummary> savedPosts = postSummaryService.withImages(savedPostRepository.findSavedSummaries(user.getId()));
+        List<Long> shownPostIds = Stream.concat(
+                posts.stream().map(PostSummary::id),
+                savedPosts.stream().map(PostSummary::id)).toList();
 
         model.addAttribute("user", user);
         model.addAttribute("activities", activities);
         model.addAttribute("posts", posts);
         model.addAttribute("comments", comments);
-        model.addAttribute("savedPosts", savedPostRepository.findByUserOrderByCreatedAtDesc(user));
+        model.addAttribute("savedPosts", savedPosts);
+        model.addAttribute("cardContents", postCardCache.contents(posts));
         model.addAttribute("isOwner", true);
+        model.addAttribute("viewerState", viewerStateService.forPosts(viewer, shownPostIds));
         
 
         return "profile";
@@ -164,9 +232,10 @@ public class AuthViewController {
      * Displays another user's profile page.
      */
     @GetMapping("/users/{username}")
-    public String showUserProfile(@PathVariable String username, Model model) {
+    public String showUserProfile(@PathVariable String username, Model model, @AuthenticationPrincipal User viewer) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("User not found: " + username));
+        contentVersionService.rememberProfile(user);
 
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         String currentUsername = auth.getName();
@@ -175,38 +244,46 @@ public class AuthViewController {
         boolean isAdmin = auth.getAuthorities().stream()
                 .anyMatch(a -> a.getAuthority().equals("ROLE_SUPER_ADMIN") || a.getAuthority().equals("ROLE_SUB_ADMIN"));
 
-        List<Post> posts;
-        List<Comment> comments;
+        List<PostSummary> posts;
+        List<CommentSummary> comments;
 
         if (isOwner || isAdmin) {
-            posts = postRepository.findAllByUserOrderByCreatedAtDesc(user);
+            posts = postRepository.findSummariesByUser(user.getId());
+            comments = commentRepository.findSummariesByUser(user.getId());
         } else {
-            posts = postRepository.findAllByUserAndSuspendedFalseOrderByCreatedAtDesc(user);
+            posts = postRepository.findVisibleSummariesByUser(user.getId());
+            comments = commentRepository.findVisibleSummariesByUser(user.getId());
         }
+        posts = postSummaryService.withImages(posts);
+        List<Object> activities = activities(posts, comments);
 
-        if (isOwner || isAdmin) {
-            comments = commentRepository.findByUserOrderByCreatedAtDesc(user);
-        } else {
-            comments = commentRepository.findByUserAndSuspendedFalseOrderByCreatedAtDesc(user);
-        }
+        model.addAttribute("user", user);
+        model.addAttribute("activities", activities);
+        model.addAttribute("posts", posts);
+        model.addAttribute("comments", comments);
+        model.addAttribute("isOwner", isOwner);
+        model.addAttribute("cardContents", postCardCache.contents(posts));
+        model.addAttribute("viewerState", viewerStateService.forPosts(viewer, summaryIds(posts)));
+
+        return "profile";
+    }
 
+    // Posts and comments interleaved, newest first, for the profile's activity tab
+    private static List<Object> activities(List<PostSummary> posts, List<CommentSummary> comments) {
         List<Object> activities = new ArrayList<>();
         activities.addAll(posts);
         activities.addAll(comments);
 
         activities.sort((o1, o2) -> {
-            LocalDateTime t1 = (o1 instanceof Post) ? ((Post) o1).getCreatedAt() : ((Comment) o1).getCreatedAt();
-            LocalDateTime t2 = (o2 instanceof Post) ? ((Post) o2).getCreatedAt() : ((Comment) o2).getCreatedAt();
+            LocalDateTime t1 = (o1 instanceof PostSummary p) ? p.createdAt() : ((CommentSummary) o1).createdAt();
+            LocalDateTime t2 = (o2 instanceof PostSummary p) ? p.createdAt() : ((CommentSummary) o2).createdAt();
             return t2.compareTo(t1);
         });
+        return activities;
+    }
 
-        model.addAttribute("user", user);
-        model.addAttribute("activities", activities);
-        model.addAttribute("posts", posts);
-        model.addAttribute("comments", comments);
-        model.addAttribute("isOwner", isOwner);
-
-        return "profile";
+    private static List<Long> summaryIds(List<PostSummary> posts) {
+        return posts.stream().map(PostSummary::id).toList();
     }
 
     @GetMapping("/profile/edit")
@@ -228,6 +305,8 @@ public class AuthViewController {
             User currentUser = userRepository.findByUsername(username)
                     .orElseThrow(() -> new RuntimeException("User not found"));
 
+            boolean renamed = !Objects.equals(currentUser.getDisplayName(), updatedUser.getDisplayName());
+
             // Update fields
             currentUser.setDisplayName(updatedUser.getDisplayName());
             currentUser.setBio(updatedUser.getBio());
@@ -239,6 +318,11 @@ public class AuthViewController {
             }
 
             userRepository.save(currentUser);
+            contentVersionService.profileChanged(currentUser.getId());
+            if (renamed) {
+                postSearchService.reindexAuthor(currentUser.getId());
+                searchSuggestService.userChanged(currentUser.getId());
+            }
             redirectAttributes.addFlashAttribute("success", "Profile updated successfully!");
             return "redirect:/profile";
         } catch (Exception e) {
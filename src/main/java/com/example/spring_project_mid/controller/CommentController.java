@@ -1,10 +1,15 @@
 package com.example.spring_project_mid.controller;
 
+import com.example.spring_project_mid.event.PostChangedEvent;
 import com.example.spring_project_mid.model.*;
+import com.example.spring_project_mid.model.enums.NotificationType;
 import com.example.spring_project_mid.repository.*;
+import com.example.spring_project_mid.service.NotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import jakarta.servlet.http.HttpServletRequest;
@@ -16,7 +21,9 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public class CommentController {
 
     private final CommentRepository commentRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final PostRepository postRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     // --- EDIT COMMENT ---
     @PostMapping("/{id}/edit")
@@ -37,15 +44,17 @@ public class CommentController {
 
         comment.setContent(content);
         commentRepository.save(comment);
+        publish(comment, PostChangedEvent.Type.COMMENT_UPDATED);
 
         // Notify the person involved (Post Owner or Parent Commenter)
-        sendNotification(comment, user, "edited");
+        sendNotification(comment, user, NotificationType.COMMENT_EDITED, NotificationType.REPLY_EDITED);
 
         return "redirect:/posts/" + comment.getPost().getId();
     }
 
     // --- DELETE COMMENT ---
     @PostMapping("/{id}/delete")
+    @Transactional
     public String deleteComment(
             @PathVariable Long id,
             @AuthenticationPrincipal User user,
@@ -62,38 +71,34 @@ public class CommentController {
         Long postId = comment.getPost().getId();
 
         // Notify before deletion (so we still have the user details)
-        sendNotification(comment, user, "deleted");
+        sendNotification(comment, user, NotificationType.COMMENT_DELETED, NotificationType.REPLY_DELETED);
 
+        PostChangedEvent.Removed removed = PostChangedEvent.Removed.of(comment);
         commentRepository.delete(comment);
+        commentRepository.flush();
+        postRepository.recountComments(postId);
+        publish(comment, PostChangedEvent.Type.COMMENT_REMOVED, removed);
 
         return "redirect:/posts/" + postId;
     }
 
     // --- HELPER: Send Notification ---
-    private void sendNotification(Comment comment, User actor, String action) {
+    private void sendNotification(Comment comment, User actor, NotificationType onComment, NotificationType onReply) {
         User targetUser;
-        String context; // "reply" or "comment"
+        NotificationType type;
 
         // Determine who to notify
         if (comment.getParentComment() != null) {
             targetUser = comment.getParentComment().getUser(); // Notify parent commenter
-            context = "their reply to your comment";
+            type = onReply;
         } else {
             targetUser = comment.getPost().getUser(); // Notify post owner
-            context = "their comment on your post";
+            type = onComment;
         }
 
         // Don't notify if the user is interacting with themselves
         if (!targetUser.getId().equals(actor.getId())) {
-            String msg = actor.getUsername() + " " + action + " " + context + ".";
-            String link = "/posts/" + comment.getPost().getId();
-
-            notificationRepository.save(Notification.builder()
-                    .user(targetUser)
-                    .message(msg)
-                    .isRead(false)
-                    .link(link)
-                    .build());
+            notificationService.notify(targetUser, type, actor, comment.getPost().getId());
         }
     }
 
@@ -107,39 +112,37 @@ public class CommentController {
         boolean newStatus = !comment.isSuspended();
         comment.setSuspended(newStatus);
         commentRepository.save(comment);
+        publish(comment, newStatus ? PostChangedEvent.Type.COMMENT_SUSPENDED : PostChangedEvent.Type.COMMENT_UNSUSPENDED);
 
-        String postLink = "/posts/" + comment.getPost().getId();
+        Long postId = comment.getPost().getId();
+        String postLink = "/posts/" + postId;
 
         if (newStatus) {
             // CASE: Suspending
             // 1. Notify the Comment Owner
-            notificationRepository.save(Notification.builder()
-                    .user(comment.getUser())
-                    .message("Your comment on '" + comment.getPost().getTitle() + "' has been suspended by a moderator for violating community guidelines.")
-                    .isRead(false)
-                    .link(postLink)
-                    .build());
+            notificationService.notify(comment.getUser(), NotificationType.COMMENT_SUSPENDED, null, postId);
 
             // 2. Notify the Post Owner (if they are not the comment owner)
             if (!comment.getPost().getUser().getId().equals(comment.getUser().getId())) {
-                notificationRepository.save(Notification.builder()
-                        .user(comment.getPost().getUser())
-                        .message("A comment by " + comment.getUser().getUsername() + " on your post was suspended by a moderator.")
-                        .isRead(false)
-                        .link(postLink)
-                        .build());
+                notificationService.notify(comment.getPost().getUser(), NotificationType.POST_COMMENT_SUSPENDED,
+                        comment.getUser(), postId);
             }
         } else {
             // CASE: Unsuspending (Optional: Notify comment owner they are back)
-            notificationRepository.save(Notification.builder()
-                    .user(comment.getUser())
-                    .message("Your comment on '" + comment.getPost().getTitle() + "' has been unsuspended.")
-                    .isRead(false)
-                    .link(postLink)
-                    .build());
+            notificationService.notify(comment.getUser(), NotificationType.COMMENT_UNSUSPENDED, null, postId);
         }
 
         String referer = request.getHeader("Referer");
         return "redirect:" + (referer != null ? referer : postLink);
     }
-}
\ No newline at end of file
+
+    private void publish(Comment comment, PostChangedEvent.Type type) {
+        publish(comment, type, null);
+    }
+
+    private void publish(Comment comment, PostChangedEvent.Type type, PostChangedEvent.Removed removed) {
+        Post post = comment.getPost();
+        eventPublisher.publishEvent(new PostChangedEvent(
+                post.getId(), post.getUser().getId(), comment.getUser().getId(), type, removed));
+    }
+}
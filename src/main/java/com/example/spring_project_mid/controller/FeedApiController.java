@@ -0,0 +1,59 @@
+package com.example.spring_project_mid.controller;
+
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.service.FeedStreamService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.time.Duration;
+
+@RestController
+@RequestMapping("/api/feed")
+@RequiredArgsConstructor
+public class FeedApiController {
+
+    // Posts per request; a client wanting more continues from the last cursor
+    private static final long MAX_LIMIT = 1000;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final FeedStreamService feedStreamService;
+
+    // A capped stream needs seconds; a stalled client is cut off after this
+    @Value("${feed.stream.timeout:PT1M}")
+    private Duration timeout;
+
+    /**
+     * Streams up to {@code limit} (at most 1000) post summaries, newest first, as NDJSON or, for
+     * clients accepting text/event-stream, as Server-Sent Events. Resumes after {@code cursor} or,
+     * for a reconnecting EventSource, after the Last-Event-ID. Written asynchronously with its own
+     * timeout rather than the application-wide one.
+     */
+    @GetMapping("/stream")
+    public WebAsyncTask<Void> stream(
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "limit", required = false) Long limit,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestHeader(value = HttpHeaders.ACCEPT, defaultValue = "") String accept,
+            HttpServletResponse response
+    ) {
+        boolean sse = accept.contains(MediaType.TEXT_EVENT_STREAM_VALUE);
+        FeedStreamService.Format format = sse ? FeedStreamService.Format.SSE : FeedStreamService.Format.NDJSON;
+        FeedCursor start = FeedCursor.parse(lastEventId != null ? lastEventId : cursor);
+        long max = (limit != null && limit > 0) ? Math.min(limit, MAX_LIMIT) : MAX_LIMIT;
+
+        response.setContentType((sse ? MediaType.TEXT_EVENT_STREAM : NDJSON).toString());
+        response.setHeader("Cache-Control", "no-store");
+        // Ask nginx-style proxies not to buffer the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return new WebAsyncTask<>(timeout.toMillis(), () -> {
+            feedStreamService.stream(start, max, format, response.getOutputStream());
+            return null;
+        });
+    }
+}
@@ -1,44 +1,26 @@
 package com.example.spring_project_mid.controller;
 
-import com.example.spring_project_mid.model.Notification;
 import com.example.spring_project_mid.model.User;
-import com.example.spring_project_mid.repository.NotificationRepository;
+import com.example.spring_project_mid.service.UnreadNotificationCounter;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
 
-import java.util.Collections;
-import java.util.List;
-
 @ControllerAdvice
 @RequiredArgsConstructor
 public class GlobalControllerAdvice {
 
-    private final NotificationRepository notificationRepository;
-
-    /**
-     * Fetches the current user's notifications and adds them to the model
-     * for every request.
-     */
-    @ModelAttribute("userNotifications")
-    public List<Notification> addUserNotifications(@AuthenticationPrincipal User user) {
-        if (user != null) {
-            return notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        }
-        return Collections.emptyList();
-    }
+    private final UnreadNotificationCounter unreadNotificationCounter;
 
     /**
-     * Calculates and adds the count of *unread* notifications to the model.
+     * Adds the count of *unread* notifications for the navbar badge. The dropdown itself is
+     * loaded on demand from /api/notifications/latest.
      */
     @ModelAttribute("unreadNotificationCount")
-    public long addUnreadNotificationCount(@ModelAttribute("userNotifications") List<Notification> notifications) {
-        if (notifications.isEmpty()) {
-            return 0;
-        }
-        return notifications.stream().filter(n -> !n.isRead()).count();
+    public long addUnreadNotificationCount(@AuthenticationPrincipal User user) {
+        return (user != null) ? unreadNotificationCounter.unread(user.getId()) : 0;
     }
 
     /**
@@ -48,4 +30,4 @@ public class GlobalControllerAdvice {
     public String requestURI(HttpServletRequest request) {
         return request.getRequestURI();
     }
-}
\ No newline at end of file
+}
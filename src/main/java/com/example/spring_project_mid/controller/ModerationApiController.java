@@ -0,0 +1,42 @@
+package com.example.spring_project_mid.controller;
+
+import com.example.spring_project_mid.dto.BulkModerationResult;
+import com.example.spring_project_mid.dto.BulkSuspendRequest;
+import com.example.spring_project_mid.dto.BulkUserStatusRequest;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.service.ModerationService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Bulk counterparts of the single-item suspend and status toggles, for clearing spam waves.
+ * Each call takes up to 1000 ids and applies them in one transaction.
+ */
+@RestController
+@RequestMapping("/api/moderation")
+@RequiredArgsConstructor
+@PreAuthorize("hasAnyRole('SUPER_ADMIN', 'SUB_ADMIN')")
+public class ModerationApiController {
+
+    private final ModerationService moderationService;
+
+    @PostMapping("/posts")
+    public BulkModerationResult moderatePosts(@Valid @RequestBody BulkSuspendRequest request) {
+        return moderationService.setPostsSuspended(request.getIds(), request.isSuspended());
+    }
+
+    @PostMapping("/comments")
+    public BulkModerationResult moderateComments(@Valid @RequestBody BulkSuspendRequest request) {
+        return moderationService.setCommentsSuspended(request.getIds(), request.isSuspended());
+    }
+
+    @PostMapping("/users")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public BulkModerationResult moderateUsers(@Valid @RequestBody BulkUserStatusRequest request,
+                                              @AuthenticationPrincipal User admin) {
+        return moderationService.setUsersEnabled(request.getIds(), request.isEnabled(), admin.getId());
+    }
+}
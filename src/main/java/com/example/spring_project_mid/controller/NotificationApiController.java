@@ -0,0 +1,47 @@
+package com.example.spring_project_mid.controller;
+
+import com.example.spring_project_mid.dto.NotificationItem;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.service.NotificationPushService;
+import com.example.spring_project_mid.service.NotificationService;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/notifications")
+@RequiredArgsConstructor
+public class NotificationApiController {
+
+    private static final int MAX_LIMIT = 20;
+
+    private final NotificationService notificationService;
+    private final NotificationPushService notificationPushService;
+
+    /**
+     * The current user's newest notifications, loaded when the navbar dropdown is opened.
+     */
+    @GetMapping("/latest")
+    public List<NotificationItem> latest(@AuthenticationPrincipal User user,
+                                         @RequestParam(value = "limit", defaultValue = "8") int limit) {
+        return notificationService.latest(user.getId(), Math.max(1, Math.min(limit, MAX_LIMIT)));
+    }
+
+    /**
+     * Server-Sent Events for the navbar: "unread" carries the unread count (sent on connect and
+     * after every change), "notification" each new or newly coalesced notification, and "refresh"
+     * asks for the list to be reloaded after a burst too large to push one by one.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@AuthenticationPrincipal User user, HttpServletResponse response) {
+        response.setHeader("Cache-Control", "no-store");
+        // Ask nginx-style proxies not to buffer the stream
+        response.setHeader("X-Accel-Buffering", "no");
+        return notificationPushService.subscribe(user.getId());
+    }
+}
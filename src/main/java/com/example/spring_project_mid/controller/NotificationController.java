@@ -1,8 +1,12 @@
 package com.example.spring_project_mid.controller;
 
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.NotificationPage;
 import com.example.spring_project_mid.model.Notification;
 import com.example.spring_project_mid.model.User;
 import com.example.spring_project_mid.repository.NotificationRepository;
+import com.example.spring_project_mid.service.NotificationRenderer;
+import com.example.spring_project_mid.service.NotificationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
@@ -10,22 +14,29 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping; // <-- Add this import
-
-import java.util.List;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 @Controller
 @RequiredArgsConstructor
 public class NotificationController {
 
     private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final NotificationRenderer notificationRenderer;
 
     /**
      * Displays the notifications page for the authenticated user.
      */
     @GetMapping("/notifications")
-    public String showNotifications(@AuthenticationPrincipal User user, Model model) {
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        model.addAttribute("notifications", notifications);
+    public String showNotifications(@AuthenticationPrincipal User user,
+                                    @RequestParam(value = "before", required = false) String before,
+                                    Model model) {
+        FeedCursor cursor = FeedCursor.parse(before);
+        NotificationPage page = notificationService.page(user, cursor);
+        model.addAttribute("notifications", page.notifications());
+        model.addAttribute("olderCursor", page.olderCursor());
+        model.addAttribute("olderPage", cursor != null);
         return "notifications";
     }
 
@@ -41,12 +52,9 @@ public class NotificationController {
              return "redirect:/notifications";
         }
 
-        if (!notification.isRead()) {
-            notification.setRead(true);
-            notificationRepository.save(notification);
-        }
+        notificationService.markRead(notification);
 
-        String link = notification.getLink();
+        String link = notificationRenderer.link(notification);
         return "redirect:" + (link != null && !link.isEmpty() ? link : "/");
     }
 
@@ -54,15 +62,10 @@ public class NotificationController {
      * Marks all notifications as read for the current user.
      */
     @PostMapping("/notifications/mark-all-read")
-    public String markAllAsRead(@AuthenticationPrincipal User user) {
-        List<Notification> notifications = notificationRepository.findByUserOrderByCreatedAtDesc(user);
-        
-        // Loop through and set all to read
-        notifications.forEach(n -> n.setRead(true));
-        
-        // Save all changes at once
-        notificationRepository.saveAll(notifications);
-        
+    public String markAllAsRead(@AuthenticationPrincipal User user, RedirectAttributes redirectAttributes) {
+        int updated = notificationService.markAllRead(user);
+        redirectAttributes.addFlashAttribute("successMessage",
+                updated == 1 ? "Marked 1 notification as read." : "Marked " + updated + " notifications as read.");
         return "redirect:/notifications";
     }
 }
\ No newline at end of file
@@ -1,14 +1,24 @@
 package com.example.spring_project_mid.controller;
 
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.PostDetails;
+import com.example.spring_project_mid.event.PostChangedEvent;
 import com.example.spring_project_mid.model.*;
+import com.example.spring_project_mid.model.enums.NotificationType;
 import com.example.spring_project_mid.repository.*;
+import com.example.spring_project_mid.service.NotificationService;
 import com.example.spring_project_mid.service.PinataService;
+import com.example.spring_project_mid.service.PostDetailService;
+import com.example.spring_project_mid.service.PostReactionService;
+import com.example.spring_project_mid.service.ViewerStateService;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.stereotype.Controller;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
@@ -26,7 +36,11 @@ public class PostController {
     private final VoteRepository voteRepository;
     private final SavedPostRepository savedPostRepository;
     private final CommentRepository commentRepository;
-    private final NotificationRepository notificationRepository;
+    private final NotificationService notificationService;
+    private final ViewerStateService viewerStateService;
+    private final PostDetailService postDetailService;
+    private final PostReactionService postReactionService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Shows the form for creating a new post.
@@ -62,6 +76,7 @@ public class PostController {
             }
         }
         postRepository.save(post);
+        publish(post, null, PostChangedEvent.Type.CREATED);
         return "redirect:/";
     }
 
@@ -123,6 +138,7 @@ public class PostController {
         }
 
         postRepository.save(existingPost);
+        publish(existingPost, null, PostChangedEvent.Type.UPDATED);
         return "redirect:/profile";
     }
 
@@ -135,46 +151,23 @@ public class PostController {
                 .orElseThrow(() -> new RuntimeException("Post not found"));
 
         if (post.getUser().getId().equals(user.getId())) {
+            PostChangedEvent.Removed removed = PostChangedEvent.Removed.of(post);
             postRepository.delete(post);
+            eventPublisher.publishEvent(new PostChangedEvent(
+                    post.getId(), post.getUser().getId(), null, PostChangedEvent.Type.DELETED, removed));
         }
 
         return "redirect:/profile";
     }
 
     /**
-     * Toggles the Like status for a post.
+     * Toggles the Like status for a post. Fallback for pages without JavaScript, which use
+     * PUT/DELETE /api/posts/{postId}/like instead.
      */
     @PostMapping("/{postId}/like")
     public String toggleLike(@PathVariable Long postId, @AuthenticationPrincipal User user, HttpServletRequest request) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-
-        Optional<Vote> existingVote = voteRepository.findByUserAndPost(user, post);
-
-        if (existingVote.isPresent()) {
-            voteRepository.delete(existingVote.get());
-        } else {
-            Vote newVote = Vote.builder()
-                    .post(post)
-                    .user(user)
-                    .voteType(1) // 1 for Like
-                    .build();
-            voteRepository.save(newVote);
-
-            // --- Notification Logic: Post Liked ---
-            // Only notify if the liker is NOT the post owner
-            if (!post.getUser().getId().equals(user.getId())) {
-                String msg = user.getUsername() + " liked your post: " + post.getTitle();
-                String link = "/posts/" + postId;
-                
-                notificationRepository.save(Notification.builder()
-                        .user(post.getUser())
-                        .message(msg)
-                        .isRead(false)
-                        .link(link)
-                        .build());
-            }
-        }
+        boolean liked = voteRepository.findPostIdsLikedBy(user.getId(), List.of(postId)).isEmpty();
+        postReactionService.setLiked(postId, user, liked);
 
         // Redirect back to the previous page (to stay on feed or details page)
         String referer = request.getHeader("Referer");
@@ -182,30 +175,14 @@ public class PostController {
     }
 
     /**
-     * Toggles the Saved status for a post.
-     * Prevent users from saving their own posts.
+     * Toggles the Saved status for a post; saving one's own post is ignored.
+     * Fallback for pages without JavaScript, see {@link #toggleLike}.
      */
     @PostMapping("/{postId}/save")
-    public String toggleSave(@PathVariable Long postId, @AuthenticationPrincipal User user, jakarta.servlet.http.HttpServletRequest request) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-
-        if (post.getUser().getId().equals(user.getId())) {
-            String referer = request.getHeader("Referer");
-            return "redirect:" + (referer != null ? referer : "/");
-        }
-
-        Optional<SavedPost> existingSave = savedPostRepository.findByUserAndPost(user, post);
+    public String toggleSave(@PathVariable Long postId, @AuthenticationPrincipal User user, HttpServletRequest request) {
+        boolean saved = savedPostRepository.findPostIdsSavedBy(user.getId(), List.of(postId)).isEmpty();
+        postReactionService.setSaved(postId, user, saved);
 
-        if (existingSave.isPresent()) {
-            savedPostRepository.delete(existingSave.get());
-        } else {
-            SavedPost savedPost = SavedPost.builder()
-                    .post(post)
-                    .user(user)
-                    .build();
-            savedPostRepository.save(savedPost);
-        }
         String referer = request.getHeader("Referer");
         return "redirect:" + (referer != null ? referer : "/");
     }
@@ -240,15 +217,11 @@ public class PostController {
         boolean newStatus = !post.isSuspended();
         post.setSuspended(newStatus);
         postRepository.save(post);
+        publish(post, null, newStatus ? PostChangedEvent.Type.SUSPENDED : PostChangedEvent.Type.UNSUSPENDED);
 
         // Notify post owner if the post was just suspended
         if (newStatus) {
-            notificationRepository.save(Notification.builder()
-                    .user(post.getUser())
-                    .message("Your post '" + post.getTitle() + "' has been suspended by an administrator.")
-                    .isRead(false)
-                    .link("/posts/" + post.getId())
-                    .build());
+            notificationService.notify(post.getUser(), NotificationType.POST_SUSPENDED, null, post.getId());
         }
 
         String referer = request.getHeader("Referer");
@@ -259,18 +232,18 @@ public class PostController {
      * Display Post Details with Comments
      */
     @GetMapping("/{id}")
-    public String viewPostDetails(@PathVariable Long id, Model model, @AuthenticationPrincipal User user) {
-        Post post = postRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Post not found"));
-
-        // Filter for root comments (no parent) and sort them
-        List<Comment> rootComments = post.getComments().stream()
-                .filter(c -> c.getParentComment() == null)
-                .sorted(Comparator.comparing(Comment::getCreatedAt).reversed())
-                .collect(Collectors.toList());
+    public String viewPostDetails(
+            @PathVariable Long id,
+            @RequestParam(value = "comments", required = false) String commentsCursor,
+            Model model,
+            @AuthenticationPrincipal User user
+    ) {
+        PostDetails details = postDetailService.load(id, FeedCursor.parse(commentsCursor));
 
-        model.addAttribute("post", post);
-        model.addAttribute("comments", rootComments);
+        model.addAttribute("post", details.post());
+        model.addAttribute("comments", details.comments());
+        model.addAttribute("olderCommentsCursor", details.olderCommentsCursor());
+        model.addAttribute("viewerState", viewerStateService.forPosts(user, List.of(id)));
         return "post-details";
     }
 
@@ -278,6 +251,7 @@ public class PostController {
      * Handle Comment Submission with Notification Logic
      */
     @PostMapping("/{postId}/comments")
+    @Transactional
     public String addComment(
             @PathVariable Long postId,
             @RequestParam("content") String content,
@@ -301,6 +275,8 @@ public class PostController {
         }
 
         commentRepository.save(comment);
+        postRepository.incrementCommentCount(postId, 1);
+        publish(post, user, PostChangedEvent.Type.COMMENTED);
 
         // --- Notification Logic ---
         // Added logic to handle reply and post owner notifications
@@ -310,12 +286,7 @@ public class PostController {
             User parentAuthor = parent.getUser();
             // Don't notify if user is replying to themselves
             if (!parentAuthor.getId().equals(user.getId())) {
-                String msg = user.getUsername() + " replied to your comment on: " + post.getTitle();
-                notificationRepository.save(Notification.builder()
-                        .user(parentAuthor)
-                        .message(msg)
-                        .isRead(false)
-                        .build());
+                notificationService.notify(parentAuthor, NotificationType.COMMENT_REPLIED, user, postId);
             }
         }
 
@@ -327,18 +298,17 @@ public class PostController {
         User postOwner = post.getUser();
         boolean isOwnerCommenting = postOwner.getId().equals(user.getId());
         boolean alreadyNotifiedAsParent = (parent != null && parent.getUser().getId().equals(postOwner.getId()));
-        String postLink = "/posts/" + postId;
 
         if (!isOwnerCommenting && !alreadyNotifiedAsParent) {
-            String msg = user.getUsername() + " commented on your post: " + post.getTitle();
-            notificationRepository.save(Notification.builder()
-                    .user(postOwner)
-                    .message(msg)
-                    .isRead(false)
-                    .link(postLink)
-                    .build());
+            notificationService.notify(postOwner, NotificationType.POST_COMMENTED, user, postId);
         }
 
         return "redirect:/posts/" + postId;
     }
-}
\ No newline at end of file
+
+    // Listeners (feed caches, page versions) run once the surrounding transaction, if any, has committed
+    private void publish(Post post, User actor, PostChangedEvent.Type type) {
+        eventPublisher.publishEvent(new PostChangedEvent(
+                post.getId(), post.getUser().getId(), actor != null ? actor.getId() : null, type));
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.spring_project_mid.controller;
+
+import com.example.spring_project_mid.dto.ReactionState;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.service.PostReactionService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Like and save buttons without a page reload. PUT sets and DELETE clears the viewer's like or
+ * save, so repeating a request (a double click, a retry) changes nothing; each returns the new
+ * state and total for the button.
+ */
+@RestController
+@RequestMapping("/api/posts/{postId}")
+@RequiredArgsConstructor
+public class PostReactionApiController {
+
+    private final PostReactionService postReactionService;
+
+    @PutMapping("/like")
+    public ReactionState like(@PathVariable Long postId, @AuthenticationPrincipal User user) {
+        return postReactionService.setLiked(postId, user, true);
+    }
+
+    @DeleteMapping("/like")
+    public ReactionState unlike(@PathVariable Long postId, @AuthenticationPrincipal User user) {
+        return postReactionService.setLiked(postId, user, false);
+    }
+
+    @PutMapping("/save")
+    public ReactionState save(@PathVariable Long postId, @AuthenticationPrincipal User user) {
+        return postReactionService.setSaved(postId, user, true);
+    }
+
+    @DeleteMapping("/save")
+    public ReactionState unsave(@PathVariable Long postId, @AuthenticationPrincipal User user) {
+        return postReactionService.setSaved(postId, user, false);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.spring_project_mid.controller;
+
+import com.example.spring_project_mid.dto.Suggestion;
+import com.example.spring_project_mid.service.SearchSuggestService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchApiController {
+
+    private final SearchSuggestService searchSuggestService;
+
+    /**
+     * Autocomplete for the navbar search box: up to ten users and post titles with a word starting with {@code q}.
+     */
+    @GetMapping("/suggest")
+    public List<Suggestion> suggest(@RequestParam(value = "q", defaultValue = "") String query) {
+        return searchSuggestService.suggest(query);
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.List;
+
+/**
+ * Point-in-time totals and per-day activity shown on the admin dashboard, oldest day first.
+ */
+public record AdminStats(long users, long posts, long comments, long likes,
+                         long suspendedPosts, long suspendedComments, List<DailyStats> days) {
+
+    public long suspended() {
+        return suspendedPosts + suspendedComments;
+    }
+
+    /**
+     * Largest single value in the time series (at least 1), used to scale the chart.
+     */
+    public long peak() {
+        long peak = 1;
+        for (DailyStats day : days) {
+            peak = Math.max(peak, Math.max(day.posts(), Math.max(day.signups(), day.likes())));
+        }
+        return peak;
+    }
+}
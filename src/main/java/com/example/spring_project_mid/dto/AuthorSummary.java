@@ -0,0 +1,7 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * The author fields a post card needs, detached from the User entity.
+ */
+public record AuthorSummary(Long id, String username, String displayName, String avatarUrl) {
+}
@@ -0,0 +1,8 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * Outcome of a bulk moderation call: how many ids were sent and how many actually changed state
+ * (ids that were missing or already in the requested state are skipped).
+ */
+public record BulkModerationResult(int requested, int changed) {
+}
@@ -0,0 +1,16 @@
+package com.example.spring_project_mid.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkSuspendRequest {
+    @NotEmpty
+    @Size(max = 1000)
+    private List<Long> ids;
+
+    private boolean suspended = true;
+}
@@ -0,0 +1,15 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * Point-in-time counters of an in-process cache.
+ */
+public record CacheStats(long hits, long misses, long evictions, int size, int capacity) {
+
+    /**
+     * Share of lookups answered from memory, as a percentage (0 when nothing was looked up yet).
+     */
+    public double hitRatio() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : 100.0 * hits / lookups;
+    }
+}
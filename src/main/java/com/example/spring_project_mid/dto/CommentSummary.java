@@ -0,0 +1,17 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment as listed on a profile page, with the id and title of the post it belongs to.
+ */
+public record CommentSummary(Long id, String content, LocalDateTime createdAt, boolean suspended,
+                             Long postId, String postTitle) {
+
+    /**
+     * Lets templates tell posts and comments apart in the mixed profile activity list.
+     */
+    public String getType() {
+        return "Comment";
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.List;
+
+/**
+ * A comment with its replies, oldest reply first. {@code replyCount} counts every reply below it.
+ */
+public record CommentThread(CommentView comment, List<CommentThread> replies, int replyCount) {
+}
@@ -0,0 +1,19 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A comment as shown in a post's discussion, with its author. {@code parentId} is null for root comments.
+ */
+public record CommentView(Long id, Long parentId, String content, LocalDateTime createdAt, boolean suspended,
+                          AuthorSummary author) {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions (see CommentRepository).
+     */
+    public CommentView(Long id, Long parentId, String content, LocalDateTime createdAt, boolean suspended,
+                       Long authorId, String authorUsername, String authorDisplayName, String authorAvatarUrl) {
+        this(id, parentId, content, createdAt, suspended,
+                new AuthorSummary(authorId, authorUsername, authorDisplayName, authorAvatarUrl));
+    }
+}
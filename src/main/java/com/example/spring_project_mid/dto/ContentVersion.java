@@ -0,0 +1,7 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * Validators for one rendering of a page: an ETag and the Last-Modified time in epoch millis.
+ */
+public record ContentVersion(String etag, long lastModified) {
+}
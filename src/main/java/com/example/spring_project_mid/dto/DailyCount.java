@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Number of rows created on one calendar day, used to seed the dashboard time series.
+ */
+public record DailyCount(LocalDate day, long count) {
+}
@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Activity of one calendar day on the admin dashboard.
+ */
+public record DailyStats(LocalDate day, long posts, long signups, long likes) {
+}
@@ -0,0 +1,36 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Keyset position in the feed: the (createdAt, id) of the last post already shown.
+ * Encoded as "createdAt_id" so it can travel in a query parameter.
+ */
+public record FeedCursor(LocalDateTime createdAt, Long id) {
+
+    public String encode() {
+        return createdAt + "_" + id;
+    }
+
+    /**
+     * Parses a cursor produced by {@link #encode()}. Returns null for a missing or malformed value,
+     * which callers treat as "start from the newest post".
+     */
+    public static FeedCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf('_');
+        if (separator <= 0) {
+            return null;
+        }
+        try {
+            return new FeedCursor(
+                    LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.List;
+
+/**
+ * One page of the home feed. {@code nextCursor} is null when there are no older posts.
+ */
+public record FeedPage(List<PostSummary> posts, String nextCursor) {
+}
@@ -0,0 +1,8 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * A post or comment whose moderation state is about to change, with who its notifications go to.
+ * For a post, {@code id} equals {@code postId} and the owner is the post's author.
+ */
+public record ModerationTarget(Long id, Long postId, Long postOwnerId, Long ownerId) {
+}
@@ -0,0 +1,24 @@
+package com.example.spring_project_mid.dto;
+
+import com.example.spring_project_mid.model.enums.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification to be inserted for a user: its type, who caused it ({@code actorId}, null for
+ * moderators) and the post it is about. {@code createdAt} is when the notification was raised, not
+ * when the queued row reaches the database.
+ */
+public record NotificationDraft(Long userId, NotificationType type, Long actorId, Long postId, LocalDateTime createdAt) {
+
+    public NotificationDraft(Long userId, NotificationType type, Long actorId, Long postId) {
+        this(userId, type, actorId, postId, LocalDateTime.now());
+    }
+
+    /**
+     * The key coalescing drafts merge on, e.g. "POST_LIKED:42"; null for types that never merge.
+     */
+    public String groupKey() {
+        return type.isCoalescing() ? type.name() + ":" + postId : null;
+    }
+}
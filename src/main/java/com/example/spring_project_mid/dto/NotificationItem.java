@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A notification as shown in the navbar dropdown.
+ */
+public record NotificationItem(Long id, String message, String link, boolean read, LocalDateTime createdAt) {
+}
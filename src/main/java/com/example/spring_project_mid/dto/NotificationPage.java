@@ -0,0 +1,10 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.List;
+
+/**
+ * One page of the notifications page, newest first. {@code olderCursor} is null when there are no
+ * older notifications.
+ */
+public record NotificationPage(List<NotificationItem> notifications, String olderCursor) {
+}
@@ -0,0 +1,14 @@
+package com.example.spring_project_mid.dto;
+
+import com.example.spring_project_mid.model.enums.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored notification as read from the database, before NotificationRenderer turns it into text.
+ * Rows written before notifications were typed have a null {@code type} and carry their own
+ * {@code message} and {@code link}.
+ */
+public record NotificationRow(Long id, NotificationType type, Long actorId, Long postId, Integer actorCount,
+                              String message, String link, boolean read, LocalDateTime createdAt) {
+}
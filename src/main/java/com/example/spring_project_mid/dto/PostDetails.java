@@ -0,0 +1,10 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.List;
+
+/**
+ * Everything the post details page shows: the post, one page of root comments (newest first)
+ * with their replies, and the cursor of the next page of older comments (null when there is none).
+ */
+public record PostDetails(PostSummary post, List<CommentThread> comments, String olderCommentsCursor) {
+}
@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * A post's stored counters, used to seed its hot score without scanning the child tables.
+ */
+public record PostEngagement(Long id, LocalDateTime createdAt, int likeCount, int commentCount, int saveCount) {
+}
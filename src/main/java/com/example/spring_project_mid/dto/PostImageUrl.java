@@ -0,0 +1,7 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * One image URL of a post, as returned by the batched image lookup for a page of summaries.
+ */
+public record PostImageUrl(Long postId, String url) {
+}
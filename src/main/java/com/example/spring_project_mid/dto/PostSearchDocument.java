@@ -0,0 +1,8 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * The fields of a post that go into the search index.
+ */
+public record PostSearchDocument(Long id, String title, String content, String authorUsername,
+                                 String authorDisplayName, boolean suspended) {
+}
@@ -0,0 +1,49 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Immutable snapshot of everything a post card renders. Safe to cache and share between
+ * requests, unlike a managed Post entity. Read queries build it directly with a constructor
+ * expression (see PostRepository) and fill in the image URLs with one extra query per page.
+ */
+public record PostSummary(
+        Long id,
+        String title,
+        String content,
+        String linkUrl,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        boolean suspended,
+        AuthorSummary author,
+        List<String> imageUrls,
+        int likeCount,
+        int commentCount,
+        int saveCount
+) {
+
+    /**
+     * Flat constructor used by JPQL constructor expressions; images are attached afterwards.
+     */
+    public PostSummary(Long id, String title, String content, String linkUrl,
+                       LocalDateTime createdAt, LocalDateTime updatedAt, boolean suspended,
+                       Long authorId, String authorUsername, String authorDisplayName, String authorAvatarUrl,
+                       int likeCount, int commentCount, int saveCount) {
+        this(id, title, content, linkUrl, createdAt, updatedAt, suspended,
+                new AuthorSummary(authorId, authorUsername, authorDisplayName, authorAvatarUrl),
+                List.of(), likeCount, commentCount, saveCount);
+    }
+
+    public PostSummary withImageUrls(List<String> urls) {
+        return new PostSummary(id, title, content, linkUrl, createdAt, updatedAt, suspended,
+                author, List.copyOf(urls), likeCount, commentCount, saveCount);
+    }
+
+    /**
+     * Lets templates tell posts and comments apart in the mixed profile activity list.
+     */
+    public String getType() {
+        return "Post";
+    }
+}
@@ -0,0 +1,4 @@
+package com.example.spring_project_mid.dto;
+
+public record PostTitle(Long id, String title) {
+}
@@ -0,0 +1,7 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * The viewer's like (or save) state of a post after a change, with the post's new total.
+ */
+public record ReactionState(boolean active, int count) {
+}
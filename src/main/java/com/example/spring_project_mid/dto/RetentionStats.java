@@ -0,0 +1,15 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of the notification retention job. The last-run fields are null/0 before the first
+ * run; {@code lastFinished} is null while a run is in progress. Row counts of the two tables are
+ * the planner's estimates.
+ */
+public record RetentionStats(String mode, Duration maxAge, boolean running,
+                             LocalDateTime lastStarted, LocalDateTime lastFinished,
+                             long lastRows, long lastBatches, long totalRows,
+                             long hotRows, long archivedRows) {
+}
@@ -0,0 +1,16 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * One entry of the navbar search autocomplete: a user ("user") or a post title ("post").
+ */
+public record Suggestion(String type, Long id, String label, String detail, String url) {
+
+    public static Suggestion user(Long id, String username, String displayName) {
+        String label = (displayName == null || displayName.isBlank()) ? username : displayName;
+        return new Suggestion("user", id, label, "@" + username, "/users/" + username);
+    }
+
+    public static Suggestion post(Long id, String title) {
+        return new Suggestion("post", id, title, "Post", "/posts/" + id);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.spring_project_mid.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Sort key of a post in the global timeline, as held by the timeline cache.
+ */
+public record TimelineEntry(Long id, LocalDateTime createdAt) {
+}
@@ -0,0 +1,30 @@
+package com.example.spring_project_mid.dto;
+
+/**
+ * Keyset position in the admin user list: the sort column's value and the id of a row already shown.
+ * Encoded as "value_id"; the value may itself contain underscores, the id never does.
+ */
+public record UserCursor(String value, Long id) {
+
+    public String encode() {
+        return value + "_" + id;
+    }
+
+    /**
+     * Returns null for a missing or malformed value, which callers treat as "first page".
+     */
+    public static UserCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int separator = value.lastIndexOf('_');
+        if (separator < 0) {
+            return null;
+        }
+        try {
+            return new UserCursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
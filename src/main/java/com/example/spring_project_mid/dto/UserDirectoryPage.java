@@ -0,0 +1,13 @@
+package com.example.spring_project_mid.dto;
+
+import com.example.spring_project_mid.model.User;
+
+import java.util.List;
+
+/**
+ * One page of the admin user list. The cursors are null when there is nothing in that direction.
+ * {@code total} is exact unless {@code totalCapped}, in which case there are more than that many matches.
+ */
+public record UserDirectoryPage(List<User> users, String previousCursor, String nextCursor,
+                                long total, boolean totalCapped) {
+}
@@ -0,0 +1,10 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a CSV user import. {@code errors} lists the first rejected rows by line number;
+ * {@code skipped} counts all of them.
+ */
+public record UserImportResult(int imported, int skipped, List<String> errors) {
+}
@@ -0,0 +1,20 @@
+package com.example.spring_project_mid.dto;
+
+import java.util.Set;
+
+/**
+ * Which of the posts on the current page the viewer has liked or saved.
+ * Used by the templates instead of walking post.votes / post.savedPosts.
+ */
+public record ViewerState(Set<Long> likedPostIds, Set<Long> savedPostIds) {
+
+    public static final ViewerState EMPTY = new ViewerState(Set.of(), Set.of());
+
+    public boolean liked(Long postId) {
+        return likedPostIds.contains(postId);
+    }
+
+    public boolean saved(Long postId) {
+        return savedPostIds.contains(postId);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.spring_project_mid.event;
+
+/**
+ * Published when a user's notifications change (a new one arrives or some are marked read).
+ */
+public record NotificationsChangedEvent(Long userId) {
+}
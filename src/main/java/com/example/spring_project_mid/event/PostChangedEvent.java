@@ -0,0 +1,73 @@
+package com.example.spring_project_mid.event;
+
+import com.example.spring_project_mid.model.Comment;
+import com.example.spring_project_mid.model.Post;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Published by the controllers whenever a post, one of its comments or one of its counters changes.
+ * Caches listen for it after the surrounding transaction commits.
+ *
+ * <p>{@code actorId} is the user the like, save or comment belongs to; it is null for changes to
+ * the post itself. {@code removed} is only set for DELETED and COMMENT_REMOVED.
+ */
+public record PostChangedEvent(Long postId, Long authorId, Long actorId, Type type, Removed removed) {
+
+    public PostChangedEvent(Long postId, Long authorId, Long actorId, Type type) {
+        this(postId, authorId, actorId, type, null);
+    }
+
+    public enum Type {
+        CREATED,
+        UPDATED,
+        DELETED,
+        SUSPENDED,
+        UNSUSPENDED,
+        LIKED,
+        UNLIKED,
+        SAVED,
+        UNSAVED,
+        COMMENTED,
+        COMMENT_UPDATED,
+        COMMENT_SUSPENDED,
+        COMMENT_UNSUSPENDED,
+        COMMENT_REMOVED
+    }
+
+    /**
+     * What a deletion took along through database cascades, captured before it ran so listeners
+     * can adjust their counters once it commits. {@code commentAuthorIds} has one entry per removed
+     * comment, replies included.
+     */
+    public record Removed(boolean suspendedPost, int likes, List<Long> commentAuthorIds, int suspendedComments) {
+
+        public static Removed of(Post post) {
+            List<Comment> comments = List.copyOf(post.getComments());
+            return new Removed(post.isSuspended(), post.getVotes().size(), authorIds(comments), suspended(comments));
+        }
+
+        /**
+         * The comment and every reply below it.
+         */
+        public static Removed of(Comment comment) {
+            List<Comment> thread = new ArrayList<>();
+            collect(comment, thread);
+            return new Removed(false, 0, authorIds(thread), suspended(thread));
+        }
+
+        private static void collect(Comment comment, List<Comment> into) {
+            into.add(comment);
+            comment.getReplies().forEach(reply -> collect(reply, into));
+        }
+
+        private static List<Long> authorIds(List<Comment> comments) {
+            return comments.stream().map(comment -> comment.getUser().getId()).toList();
+        }
+
+        private static int suspended(List<Comment> comments) {
+            return (int) comments.stream().filter(Comment::isSuspended).count();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.spring_project_mid.event;
+
+import java.util.Collection;
+
+/**
+ * Published when accounts change in a way other pages show, such as their enabled status, or when
+ * they are {@code deleted} together with everything they wrote.
+ */
+public record UsersChangedEvent(Collection<Long> userIds, boolean deleted) {
+}
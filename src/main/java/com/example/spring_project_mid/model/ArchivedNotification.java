@@ -0,0 +1,61 @@
+package com.example.spring_project_mid.model;
+
+import com.example.spring_project_mid.model.enums.NotificationType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * A read notification moved out of the hot notifications table by NotificationRetentionService.
+ * Keeps only what is needed to show or audit it later; the id is the original one.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "notifications_archive", indexes =
+        @Index(name = "idx_notifications_archive_user_id", columnList = "user_id"))
+public class ArchivedNotification {
+
+    @Id
+    private Long id;
+
+    // Plain column rather than a relation: archived rows are removed in bulk with their user
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 40)
+    private NotificationType type;
+
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "actor_count")
+    private Integer actorCount;
+
+    // Ids of the most recent actors, newest first, as on the live row
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "actor_ids")
+    private Long[] actorIds;
+
+    // Only on rows from before notifications were typed
+    @Column(name = "message", columnDefinition = "TEXT")
+    private String message;
+
+    @Column(name = "link")
+    private String link;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
@@ -13,7 +13,11 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_post_id", columnList = "post_id"),
+        @Index(name = "idx_comments_post_id_created_at", columnList = "post_id, created_at, id"),
+        @Index(name = "idx_comments_parent_comment_id", columnList = "parent_comment_id")
+})
 public class Comment {
 
     @Id
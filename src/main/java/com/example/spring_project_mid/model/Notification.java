@@ -1,8 +1,11 @@
 package com.example.spring_project_mid.model;
 
 import jakarta.persistence.*;
+import com.example.spring_project_mid.model.enums.NotificationType;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import java.time.LocalDateTime;
 
 @Getter
@@ -11,7 +14,8 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", uniqueConstraints =
+        @UniqueConstraint(name = "uk_notifications_group", columnNames = {"user_id", "group_key", "group_window"}))
 public class Notification {
 
     @Id
@@ -22,7 +26,21 @@ public class Notification {
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
-    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    // The text is rendered from type, actor and post when read (see NotificationRenderer)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", length = 40)
+    private NotificationType type;
+
+    // Who caused it; null for moderation notices
+    @Column(name = "actor_id")
+    private Long actorId;
+
+    // Plain column rather than a relation: a deleted post just renders as such
+    @Column(name = "post_id")
+    private Long postId;
+
+    // Legacy rows from before notifications were typed; null on typed rows
+    @Column(name = "message", columnDefinition = "TEXT")
     private String message;
 
     @Column(name = "link")
@@ -34,4 +52,19 @@ public class Notification {
     @CreationTimestamp
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
+
+    // Coalescing (see NotificationWriter): null for notifications that never merge
+    @Column(name = "group_key", length = 100)
+    private String groupKey;
+
+    @Column(name = "group_window")
+    private Long groupWindow;
+
+    @Column(name = "actor_count")
+    private Integer actorCount;
+
+    // Ids of the most recent actors, newest first
+    @JdbcTypeCode(SqlTypes.ARRAY)
+    @Column(name = "actor_ids")
+    private Long[] actorIds;
 }
\ No newline at end of file
@@ -13,7 +13,9 @@ import java.util.Set;
 @ToString
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "posts")
+@Table(name = "posts", indexes = {
+        @Index(name = "idx_posts_created_at_id", columnList = "created_at DESC, id DESC")
+})
 public class Post {
 
     @Id
@@ -54,6 +56,23 @@ public class Post {
     @EqualsAndHashCode.Exclude
     private Set<Image> images = new HashSet<>();
 
+    // --- Denormalized counters ---
+    // Written only by the atomic UPDATE statements in PostRepository (never by a full entity save),
+    // so concurrent likes/comments/saves cannot overwrite each other.
+    @Column(name = "like_count", nullable = false, insertable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int likeCount = 0;
+
+    @Column(name = "comment_count", nullable = false, insertable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int commentCount = 0;
+
+    @Column(name = "save_count", nullable = false, insertable = false, updatable = false, columnDefinition = "INTEGER DEFAULT 0")
+    private int saveCount = 0;
+
+    // When PostSearchService last indexed the post, even if its text gave no terms;
+    // written only by PostRepository.markSearchIndexed
+    @Column(name = "search_indexed_at", insertable = false, updatable = false)
+    private LocalDateTime searchIndexedAt;
+
     // --- Use Wrapper Class Boolean instead of primitive boolean ---
     @Column(name = "suspended")
     private Boolean suspended = false;
@@ -0,0 +1,42 @@
+package com.example.spring_project_mid.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+/**
+ * One row of the post search index: a stemmed term and how strongly it describes a post.
+ * Maintained by PostSearchService; the database drops the rows together with their post.
+ */
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "post_search_terms", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_post_search_terms_term_post", columnNames = {"term", "post_id"})
+}, indexes = {
+        @Index(name = "idx_post_search_terms_post_id", columnList = "post_id")
+})
+public class PostSearchTerm {
+
+    // Sequence ids (unlike IDENTITY) let Hibernate batch the inserts of a whole post
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_search_terms_seq")
+    @SequenceGenerator(name = "post_search_terms_seq", sequenceName = "post_search_terms_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "term", length = 64, nullable = false)
+    private String term;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "post_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Post post;
+
+    // Field-weighted, saturated term frequency (see PostSearchService)
+    @Column(name = "weight", nullable = false)
+    private int weight;
+}
@@ -13,6 +13,8 @@ import java.time.LocalDateTime;
 @Entity
 @Table(name = "saved_posts", uniqueConstraints = {
         @UniqueConstraint(columnNames = {"post_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_saved_posts_user_post", columnList = "user_id, post_id")
 })
 public class SavedPost {
 
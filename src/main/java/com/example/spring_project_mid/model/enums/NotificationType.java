@@ -0,0 +1,31 @@
+package com.example.spring_project_mid.model.enums;
+
+/**
+ * What a notification says. The text lives in messages.properties under "notification.TYPE" and
+ * is rendered when the notification is read, from the actor and the target post stored on the row.
+ */
+public enum NotificationType {
+    // Coalesce per recipient and post within the coalescing window (see NotificationWriter)
+    POST_LIKED(true),
+    POST_COMMENTED(true),
+    COMMENT_REPLIED(true),
+
+    COMMENT_EDITED(false),
+    COMMENT_DELETED(false),
+    REPLY_EDITED(false),
+    REPLY_DELETED(false),
+    POST_SUSPENDED(false),
+    COMMENT_SUSPENDED(false),
+    COMMENT_UNSUSPENDED(false),
+    POST_COMMENT_SUSPENDED(false);
+
+    private final boolean coalescing;
+
+    NotificationType(boolean coalescing) {
+        this.coalescing = coalescing;
+    }
+
+    public boolean isCoalescing() {
+        return coalescing;
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.spring_project_mid.repository;
+
+import com.example.spring_project_mid.model.ArchivedNotification;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface ArchivedNotificationRepository extends JpaRepository<ArchivedNotification, Long> {
+
+    @Modifying
+    @Query("DELETE FROM ArchivedNotification a WHERE a.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
@@ -1,17 +1,74 @@
 package com.example.spring_project_mid.repository;
 
+import com.example.spring_project_mid.dto.CommentSummary;
+import com.example.spring_project_mid.dto.CommentView;
+import com.example.spring_project_mid.dto.ModerationTarget;
 import com.example.spring_project_mid.model.Comment;
-import com.example.spring_project_mid.model.User;
-
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    @EntityGraph(attributePaths = {"user", "post"})
-    List<Comment> findByUserOrderByCreatedAtDesc(User user);
+    String SUMMARY = "SELECT new com.example.spring_project_mid.dto.CommentSummary(" +
+            "c.id, c.content, c.createdAt, COALESCE(c.suspended, false), p.id, p.title) ";
+
+    String VIEW = "SELECT new com.example.spring_project_mid.dto.CommentView(" +
+            "c.id, c.parentComment.id, c.content, c.createdAt, COALESCE(c.suspended, false), " +
+            "u.id, u.username, u.displayName, u.avatarUrl) ";
+
+    @Query(SUMMARY + "FROM Comment c JOIN c.post p WHERE c.user.id = :userId ORDER BY c.createdAt DESC")
+    List<CommentSummary> findSummariesByUser(@Param("userId") Long userId);
+
+    @Query(SUMMARY + "FROM Comment c JOIN c.post p " +
+            "WHERE c.user.id = :userId AND (c.suspended = false OR c.suspended IS NULL) ORDER BY c.createdAt DESC")
+    List<CommentSummary> findVisibleSummariesByUser(@Param("userId") Long userId);
+
+    // Root comments of a post, newest first, keyset-paged like the feed
+    @Query(VIEW + "FROM Comment c JOIN c.user u WHERE c.post.id = :postId AND c.parentComment IS NULL " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findRootViews(@Param("postId") Long postId, Limit limit);
+
+    @Query(VIEW + "FROM Comment c JOIN c.user u WHERE c.post.id = :postId AND c.parentComment IS NULL " +
+            "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+            "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentView> findRootViewsBefore(@Param("postId") Long postId, @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id, Limit limit);
+
+    // Every reply below the given root comments, however deeply nested, oldest first
+    @Query("WITH thread AS (" +
+            "SELECT r.id AS id FROM Comment r WHERE r.parentComment.id IN :rootIds " +
+            "UNION ALL " +
+            "SELECT r.id AS id FROM Comment r JOIN thread t ON r.parentComment.id = t.id) " +
+            VIEW + "FROM Comment c JOIN c.user u WHERE c.id IN (SELECT t.id FROM thread t) ORDER BY c.createdAt, c.id")
+    List<CommentView> findReplyViewsBelow(@Param("rootIds") Collection<Long> rootIds);
+
+    long countBySuspendedTrue();
+
+    // Comments among the given ids whose flag differs from the requested one (see ModerationService)
+    @Query("SELECT new com.example.spring_project_mid.dto.ModerationTarget(c.id, p.id, pu.id, u.id) " +
+            "FROM Comment c JOIN c.user u JOIN c.post p JOIN p.user pu " +
+            "WHERE c.id IN :ids AND COALESCE(c.suspended, false) <> :suspended")
+    List<ModerationTarget> findModerationTargets(@Param("ids") Collection<Long> ids, @Param("suspended") boolean suspended);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Comment c SET c.suspended = :suspended WHERE c.id IN :ids")
+    int updateSuspended(@Param("ids") Collection<Long> ids, @Param("suspended") boolean suspended);
 
-    @EntityGraph(attributePaths = {"user", "post"})
-    List<Comment> findByUserAndSuspendedFalseOrderByCreatedAtDesc(User user);
-}
\ No newline at end of file
+    // Admin export, read through a server-side cursor (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT c.id, c.post.id, parent.id, u.id, u.username, c.content, c.suspended, c.createdAt " +
+            "FROM Comment c JOIN c.user u LEFT JOIN c.parentComment parent ORDER BY c.id")
+    Stream<Object[]> streamExport();
+}
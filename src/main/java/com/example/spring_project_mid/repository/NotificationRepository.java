@@ -1,11 +1,36 @@
 package com.example.spring_project_mid.repository;
 
+import com.example.spring_project_mid.dto.NotificationRow;
 import com.example.spring_project_mid.model.Notification;
-import com.example.spring_project_mid.model.User; // <-- ADD IMPORT
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List; // <-- ADD IMPORT
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
-    List<Notification> findByUserOrderByCreatedAtDesc(User user);
-}
\ No newline at end of file
+    String ROW = "SELECT new com.example.spring_project_mid.dto.NotificationRow(n.id, n.type, n.actorId, n.postId, " +
+            "n.actorCount, n.message, n.link, n.isRead, n.createdAt) ";
+
+    // Newest first, keyset-paged like the feed; served by idx_notifications_user_created
+    @Query(ROW + "FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationRow> findLatest(@Param("userId") Long userId, Limit limit);
+
+    @Query(ROW + "FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) " +
+            "ORDER BY n.createdAt DESC, n.id DESC")
+    List<NotificationRow> findBefore(@Param("userId") Long userId, @Param("createdAt") LocalDateTime createdAt,
+                                     @Param("id") Long id, Limit limit);
+
+    // Touches only the unread rows, found through idx_notifications_user_unread
+    @Modifying
+    @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId AND n.isRead = false")
+    int markAllRead(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM Notification n WHERE n.user.id = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+}
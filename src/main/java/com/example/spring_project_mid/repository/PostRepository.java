@@ -1,36 +1,158 @@
 package com.example.spring_project_mid.repository;
 
+import com.example.spring_project_mid.dto.DailyCount;
+import com.example.spring_project_mid.dto.ModerationTarget;
+import com.example.spring_project_mid.dto.PostEngagement;
+import com.example.spring_project_mid.dto.PostImageUrl;
+import com.example.spring_project_mid.dto.PostSearchDocument;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.dto.PostTitle;
+import com.example.spring_project_mid.dto.TimelineEntry;
 import com.example.spring_project_mid.model.Post;
-import com.example.spring_project_mid.model.User;
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface PostRepository extends JpaRepository<Post, Long> {
-    @EntityGraph(attributePaths = {"user", "votes", "comments", "images", "savedPosts"})
-    List<Post> findAllByUserOrderByCreatedAtDesc(User user);
-
-    // 1. For Homepage without suspended posts
-    @EntityGraph(attributePaths = {"user", "votes", "comments", "images", "savedPosts"})
-    List<Post> findAllBySuspendedFalseOrderByCreatedAtDesc();
-
-    // 2. For Visiting other profiles
-    @EntityGraph(attributePaths = {"user", "votes", "comments", "images", "savedPosts"})
-    List<Post> findAllByUserAndSuspendedFalseOrderByCreatedAtDesc(User user);
-
-    // 3. Updated Search
-    @EntityGraph(attributePaths = {"user", "votes", "comments", "images", "savedPosts"})
-    @Query("SELECT p FROM Post p WHERE (" +
-            "LOWER(p.title) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(p.content) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(p.user.username) LIKE LOWER(CONCAT('%', :query, '%')) OR " +
-            "LOWER(p.user.displayName) LIKE LOWER(CONCAT('%', :query, '%'))" +
-            ") " +
-            "ORDER BY p.createdAt DESC")
-    List<Post> searchPosts(@Param("query") String query);
-
-
-}
\ No newline at end of file
+    // Read paths select PostSummary rows directly, so pages that never write load no entities
+    String SUMMARY = "SELECT new com.example.spring_project_mid.dto.PostSummary(" +
+            "p.id, p.title, p.content, p.linkUrl, p.createdAt, p.updatedAt, p.suspended, " +
+            "u.id, u.username, u.displayName, u.avatarUrl, p.likeCount, p.commentCount, p.saveCount) ";
+
+    // 1. For Homepage (and FeedStreamService) without suspended posts, one keyset page at a time (newest first)
+    @Query(SUMMARY + "FROM Post p JOIN p.user u WHERE p.suspended = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findFeedFirstPage(Limit limit);
+
+    @Query(SUMMARY + "FROM Post p JOIN p.user u WHERE p.suspended = false " +
+            "AND (p.createdAt < :createdAt OR (p.createdAt = :createdAt AND p.id < :id)) " +
+            "ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostSummary> findFeedPageBefore(@Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Limit limit);
+
+    @Query(SUMMARY + "FROM Post p JOIN p.user u WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Image URLs of a page of summaries in one query, oldest image first
+    @Query("SELECT new com.example.spring_project_mid.dto.PostImageUrl(i.post.id, i.url) FROM Image i " +
+            "WHERE i.post.id IN :postIds ORDER BY i.id")
+    List<PostImageUrl> findImageUrls(@Param("postIds") Collection<Long> postIds);
+
+    // Sort keys only, for the in-memory timeline (see TimelineCache)
+    @Query("SELECT new com.example.spring_project_mid.dto.TimelineEntry(p.id, p.createdAt) FROM Post p " +
+            "WHERE p.suspended = false ORDER BY p.createdAt DESC, p.id DESC")
+    List<TimelineEntry> findTimelineEntries(Limit limit);
+
+    @Query("SELECT new com.example.spring_project_mid.dto.TimelineEntry(p.id, p.createdAt) FROM Post p " +
+            "WHERE p.id = :id AND p.suspended = false")
+    Optional<TimelineEntry> findTimelineEntry(@Param("id") Long id);
+
+    // Counters of recent posts, to seed the hot ranking (see HotRankingService)
+    @Query("SELECT new com.example.spring_project_mid.dto.PostEngagement(" +
+            "p.id, p.createdAt, p.likeCount, p.commentCount, p.saveCount) FROM Post p " +
+            "WHERE p.suspended = false AND p.createdAt >= :since")
+    List<PostEngagement> findEngagementSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT new com.example.spring_project_mid.dto.PostEngagement(" +
+            "p.id, p.createdAt, p.likeCount, p.commentCount, p.saveCount) FROM Post p " +
+            "WHERE p.id = :id AND p.suspended = false")
+    Optional<PostEngagement> findEngagement(@Param("id") Long id);
+
+    // 2. For profiles: the owner (and admins) see suspended posts too
+    @Query(SUMMARY + "FROM Post p JOIN p.user u WHERE u.id = :userId ORDER BY p.createdAt DESC")
+    List<PostSummary> findSummariesByUser(@Param("userId") Long userId);
+
+    @Query(SUMMARY + "FROM Post p JOIN p.user u WHERE u.id = :userId AND p.suspended = false ORDER BY p.createdAt DESC")
+    List<PostSummary> findVisibleSummariesByUser(@Param("userId") Long userId);
+
+    // 3. Search: the text that PostSearchService indexes (the queries live in PostSearchTermRepository)
+    @Query("SELECT new com.example.spring_project_mid.dto.PostSearchDocument(" +
+            "p.id, p.title, p.content, u.username, u.displayName, p.suspended) " +
+            "FROM Post p JOIN p.user u WHERE p.id = :id")
+    Optional<PostSearchDocument> findSearchDocument(@Param("id") Long id);
+
+    @Query("SELECT new com.example.spring_project_mid.dto.PostTitle(p.id, p.title) FROM Post p WHERE p.suspended = false")
+    List<PostTitle> findVisibleTitles();
+
+    @Query("SELECT new com.example.spring_project_mid.dto.PostTitle(p.id, p.title) FROM Post p WHERE p.id IN :ids")
+    List<PostTitle> findTitlesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT p.id FROM Post p WHERE p.user.id = :userId")
+    List<Long> findIdsByUser(@Param("userId") Long userId);
+
+    // 4. Atomic counter updates (see Post.likeCount)
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = p.likeCount + :delta WHERE p.id = :id")
+    int incrementLikeCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.saveCount = p.saveCount + :delta WHERE p.id = :id")
+    int incrementSaveCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = p.commentCount + :delta WHERE p.id = :id")
+    int incrementCommentCount(@Param("id") Long id, @Param("delta") int delta);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.searchIndexedAt = :at WHERE p.id = :id")
+    int markSearchIndexed(@Param("id") Long id, @Param("at") LocalDateTime at);
+
+    // Deleting a comment also removes its replies, so recount instead of guessing the delta
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post = p) WHERE p.id = :id")
+    int recountComments(@Param("id") Long id);
+
+    // Repairs drift (e.g. rows removed by cascades) and returns how many posts were fixed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET " +
+            "p.likeCount = (SELECT COUNT(v) FROM Vote v WHERE v.post = p), " +
+            "p.commentCount = (SELECT COUNT(c) FROM Comment c WHERE c.post = p), " +
+            "p.saveCount = (SELECT COUNT(s) FROM SavedPost s WHERE s.post = p) " +
+            "WHERE p.likeCount <> (SELECT COUNT(v) FROM Vote v WHERE v.post = p) " +
+            "OR p.commentCount <> (SELECT COUNT(c) FROM Comment c WHERE c.post = p) " +
+            "OR p.saveCount <> (SELECT COUNT(s) FROM SavedPost s WHERE s.post = p)")
+    int reconcileCounters();
+
+    long countBySuspendedTrue();
+
+    // Per-day new posts inside the dashboard window (see AdminStatsService)
+    @Query("SELECT new com.example.spring_project_mid.dto.DailyCount(CAST(p.createdAt AS LocalDate), COUNT(p)) " +
+            "FROM Post p WHERE p.createdAt >= :since GROUP BY CAST(p.createdAt AS LocalDate)")
+    List<DailyCount> countDailySince(@Param("since") LocalDateTime since);
+
+    // Posts among the given ids whose flag differs from the requested one (see ModerationService)
+    @Query("SELECT new com.example.spring_project_mid.dto.ModerationTarget(p.id, p.id, u.id, u.id) " +
+            "FROM Post p JOIN p.user u WHERE p.id IN :ids AND COALESCE(p.suspended, false) <> :suspended")
+    List<ModerationTarget> findModerationTargets(@Param("ids") Collection<Long> ids, @Param("suspended") boolean suspended);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Post p SET p.suspended = :suspended, p.updatedAt = :now WHERE p.id IN :ids")
+    int updateSuspended(@Param("ids") Collection<Long> ids, @Param("suspended") boolean suspended,
+                        @Param("now") LocalDateTime now);
+
+    // Admin export, read through a server-side cursor (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT p.id, u.id, u.username, p.title, p.content, p.linkUrl, p.suspended, " +
+            "p.likeCount, p.commentCount, p.saveCount, p.createdAt, p.updatedAt " +
+            "FROM Post p JOIN p.user u ORDER BY p.id")
+    Stream<Object[]> streamExport();
+}
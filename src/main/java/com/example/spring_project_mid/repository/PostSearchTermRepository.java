@@ -0,0 +1,30 @@
+package com.example.spring_project_mid.repository;
+
+import com.example.spring_project_mid.model.PostSearchTerm;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface PostSearchTermRepository extends JpaRepository<PostSearchTerm, Long> {
+
+    // Posts matching the most query terms first, then by their summed term weights
+    @Query("SELECT t.post.id FROM PostSearchTerm t WHERE t.term IN :terms GROUP BY t.post.id " +
+            "ORDER BY COUNT(t) DESC, SUM(t.weight) DESC, t.post.id DESC")
+    Slice<Long> searchPostIds(@Param("terms") Collection<String> terms, Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM PostSearchTerm t WHERE t.post.id = :postId")
+    int deleteByPostId(@Param("postId") Long postId);
+
+    // Visible posts after the given id that were never indexed, e.g. written before the index existed
+    @Query("SELECT p.id FROM Post p WHERE p.id > :after AND p.suspended = false AND p.searchIndexedAt IS NULL " +
+            "AND NOT EXISTS (SELECT t.id FROM PostSearchTerm t WHERE t.post = p) ORDER BY p.id")
+    List<Long> findUnindexedPostIds(@Param("after") Long after, Limit limit);
+}
@@ -1,14 +1,21 @@
 package com.example.spring_project_mid.repository;
 
-import com.example.spring_project_mid.model.Post;
+import com.example.spring_project_mid.dto.PostSummary;
 import com.example.spring_project_mid.model.SavedPost;
-import com.example.spring_project_mid.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 public interface SavedPostRepository extends JpaRepository<SavedPost, Long> {
-    Optional<SavedPost> findByUserAndPost(User user, Post post);
+    // Most recently saved first; images are attached separately like every other summary page
+    @Query(PostRepository.SUMMARY + "FROM SavedPost s JOIN s.post p JOIN p.user u " +
+            "WHERE s.user.id = :userId ORDER BY s.createdAt DESC")
+    List<PostSummary> findSavedSummaries(@Param("userId") Long userId);
 
-    List<SavedPost> findByUserOrderByCreatedAtDesc(User user);
+    // Which of the given posts this user has saved (served by idx_saved_posts_user_post)
+    @Query("SELECT s.post.id FROM SavedPost s WHERE s.user.id = :userId AND s.post.id IN :postIds")
+    List<Long> findPostIdsSavedBy(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
 }
\ No newline at end of file
@@ -1,15 +1,27 @@
 package com.example.spring_project_mid.repository;
 
+import com.example.spring_project_mid.dto.AuthorSummary;
+import com.example.spring_project_mid.dto.DailyCount;
 import com.example.spring_project_mid.model.User;
 import com.example.spring_project_mid.model.enums.Role;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificationExecutor<User> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
     Optional<User> findByUsernameOrEmail(String username, String email);
@@ -18,16 +30,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     List<User> findAllByRoleNotOrderByIdAsc(Role role);
     List<User> findByRoleNot(Role role, Sort sort);
 
-    // Enhanced search method with role and status filters
-    @Query("SELECT u FROM User u WHERE u.role <> 'SUPER_ADMIN' " +
-           "AND (:keyword IS NULL OR :keyword = '' OR " +
-           "    LOWER(u.username) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "    LOWER(u.email) LIKE LOWER(CONCAT('%', :keyword, '%')) OR " +
-           "    LOWER(u.displayName) LIKE LOWER(CONCAT('%', :keyword, '%'))) " +
-           "AND (:role IS NULL OR u.role = :role) " +
-           "AND (:status IS NULL OR u.enabled = :status)")
-    List<User> searchUsers(@Param("keyword") String keyword,
-                           @Param("role") Role role,
-                           @Param("status") Boolean status,
-                           Sort sort);
-}
\ No newline at end of file
+    // Everyone the navbar autocomplete may suggest (see SearchSuggestService)
+    @Query("SELECT new com.example.spring_project_mid.dto.AuthorSummary(u.id, u.username, u.displayName, u.avatarUrl) " +
+           "FROM User u WHERE u.enabled = true")
+    List<AuthorSummary> findEnabledAuthors();
+
+    // Per-day signups inside the dashboard window (see AdminStatsService)
+    @Query("SELECT new com.example.spring_project_mid.dto.DailyCount(CAST(u.createdAt AS LocalDate), COUNT(u)) " +
+           "FROM User u WHERE u.createdAt >= :since GROUP BY CAST(u.createdAt AS LocalDate)")
+    List<DailyCount> countDailySince(@Param("since") LocalDateTime since);
+
+    // Users among the given ids whose status differs from the requested one, never the acting admin
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids AND u.enabled <> :enabled AND u.id <> :actorId")
+    List<Long> findIdsToSetEnabled(@Param("ids") Collection<Long> ids, @Param("enabled") boolean enabled,
+                                   @Param("actorId") Long actorId);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.enabled = :enabled WHERE u.id IN :ids")
+    int updateEnabled(@Param("ids") Collection<Long> ids, @Param("enabled") boolean enabled);
+
+    @Query("SELECT new com.example.spring_project_mid.dto.AuthorSummary(u.id, u.username, u.displayName, u.avatarUrl) " +
+           "FROM User u WHERE u.enabled = true AND u.id IN :ids")
+    List<AuthorSummary> findEnabledAuthorsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Actor names for notifications, which still name users who were disabled since
+    @Query("SELECT new com.example.spring_project_mid.dto.AuthorSummary(u.id, u.username, u.displayName, u.avatarUrl) " +
+           "FROM User u WHERE u.id IN :ids")
+    List<AuthorSummary> findAuthorsByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Admin export, read through a server-side cursor (see ExportService). Never includes secrets.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT u.id, u.username, u.displayName, u.email, u.role, u.enabled, u.createdAt FROM User u ORDER BY u.id")
+    Stream<Object[]> streamExport();
+
+    // Bulk import checks and follow-up, one query per chunk (see UserImportService)
+    @Query("SELECT u.username FROM User u WHERE u.username IN :usernames")
+    List<String> findExistingUsernames(@Param("usernames") Collection<String> usernames);
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT u.id FROM User u WHERE u.username IN :usernames")
+    List<Long> findIdsByUsernameIn(@Param("usernames") Collection<String> usernames);
+}
@@ -0,0 +1,62 @@
+package com.example.spring_project_mid.repository;
+
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.Role;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Locale;
+
+/**
+ * Filters for the admin user list. Keyword matching is a case-insensitive substring search on
+ * {@code lower(column)}, which the pg_trgm indexes from DatabaseIndexInitializer can serve.
+ */
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    // Super admins are never listed (nor editable) on the admin user page
+    public static Specification<User> manageable() {
+        return (root, query, cb) -> cb.notEqual(root.get("role"), Role.SUPER_ADMIN);
+    }
+
+    public static Specification<User> keyword(String keyword) {
+        if (keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        String pattern = "%" + escapeLike(keyword.strip().toLowerCase(Locale.ROOT)) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("username")), pattern, '\\'),
+                cb.like(cb.lower(root.get("email")), pattern, '\\'),
+                cb.like(cb.lower(root.get("displayName")), pattern, '\\'));
+    }
+
+    public static Specification<User> hasRole(Role role) {
+        return role == null ? null : (root, query, cb) -> cb.equal(root.get("role"), role);
+    }
+
+    public static Specification<User> hasStatus(Boolean enabled) {
+        return enabled == null ? null : (root, query, cb) -> cb.equal(root.get("enabled"), enabled);
+    }
+
+    /**
+     * Rows strictly after (field, id) in the given direction, with id breaking ties.
+     */
+    public static <T extends Comparable<? super T>> Specification<User> beyond(String field, T value, Long id, boolean ascending) {
+        return (root, query, cb) -> {
+            Expression<T> column = root.get(field);
+            Expression<Long> rowId = root.get("id");
+            if ("id".equals(field)) {
+                return ascending ? cb.greaterThan(rowId, id) : cb.lessThan(rowId, id);
+            }
+            return cb.or(
+                    ascending ? cb.greaterThan(column, value) : cb.lessThan(column, value),
+                    cb.and(cb.equal(column, value), ascending ? cb.greaterThan(rowId, id) : cb.lessThan(rowId, id)));
+        };
+    }
+
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -1,11 +1,21 @@
 package com.example.spring_project_mid.repository;
+import com.example.spring_project_mid.dto.DailyCount;
 import com.example.spring_project_mid.model.Vote;
-import com.example.spring_project_mid.model.Post; // <-- ADD IMPORT
-import com.example.spring_project_mid.model.User; // <-- ADD IMPORT
 import org.springframework.data.jpa.repository.JpaRepository;
-import java.util.Optional; // <-- ADD IMPORT
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 public interface VoteRepository extends JpaRepository<Vote, Long> {
-    // New method to find an existing like (Vote) by User and Post
-    Optional<Vote> findByUserAndPost(User user, Post post);
-}
\ No newline at end of file
+    // Which of the given posts this user has liked (served by idx_votes_user_post)
+    @Query("SELECT v.post.id FROM Vote v WHERE v.user.id = :userId AND v.post.id IN :postIds")
+    List<Long> findPostIdsLikedBy(@Param("userId") Long userId, @Param("postIds") Collection<Long> postIds);
+
+    // Per-day likes inside the dashboard window (see AdminStatsService)
+    @Query("SELECT new com.example.spring_project_mid.dto.DailyCount(CAST(v.createdAt AS LocalDate), COUNT(v)) " +
+           "FROM Vote v WHERE v.createdAt >= :since GROUP BY CAST(v.createdAt AS LocalDate)")
+    List<DailyCount> countDailySince(@Param("since") LocalDateTime since);
+}
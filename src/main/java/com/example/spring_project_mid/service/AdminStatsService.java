@@ -0,0 +1,195 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.AdminStats;
+import com.example.spring_project_mid.dto.DailyCount;
+import com.example.spring_project_mid.dto.DailyStats;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.event.UsersChangedEvent;
+import com.example.spring_project_mid.repository.CommentRepository;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.UserRepository;
+import com.example.spring_project_mid.repository.VoteRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the admin dashboard numbers in memory so that showing them never runs an aggregate query.
+ *
+ * <p>Totals are seeded once at startup and then moved by the write paths: post events for posts,
+ * likes and comments, and direct calls for signups and deletions (whose cascades the events
+ * cannot describe). Per-day activity lives in a ring of {@code admin.stats.days} buckets indexed
+ * by epoch day, so a bucket is reused once its day falls out of the window. A nightly
+ * reconciliation re-reads everything to repair drift, e.g. rows removed by a user deletion.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AdminStatsService {
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final VoteRepository voteRepository;
+
+    @Value("${admin.stats.days:30}")
+    private int days;
+
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong posts = new AtomicLong();
+    private final AtomicLong comments = new AtomicLong();
+    private final AtomicLong likes = new AtomicLong();
+    private final AtomicLong suspendedPosts = new AtomicLong();
+    private final AtomicLong suspendedComments = new AtomicLong();
+
+    // Ring buffers guarded by "this"; bucketDays holds the epoch day each slot currently counts
+    private long[] bucketDays;
+    private long[] dailyPosts;
+    private long[] dailySignups;
+    private long[] dailyLikes;
+
+    @PostConstruct
+    void init() {
+        bucketDays = new long[days];
+        dailyPosts = new long[days];
+        dailySignups = new long[days];
+        dailyLikes = new long[days];
+        Arrays.fill(bucketDays, Long.MIN_VALUE);
+    }
+
+    /**
+     * Returns the current totals and the activity of the last {@code admin.stats.days} days.
+     */
+    public synchronized AdminStats snapshot() {
+        long today = LocalDate.now().toEpochDay();
+        List<DailyStats> series = new ArrayList<>(days);
+        for (long day = today - days + 1; day <= today; day++) {
+            int slot = slot(day);
+            boolean current = bucketDays[slot] == day;
+            series.add(new DailyStats(LocalDate.ofEpochDay(day),
+                    current ? dailyPosts[slot] : 0,
+                    current ? dailySignups[slot] : 0,
+                    current ? dailyLikes[slot] : 0));
+        }
+        return new AdminStats(users.get(), posts.get(), comments.get(), likes.get(),
+                suspendedPosts.get(), suspendedComments.get(), series);
+    }
+
+    /**
+     * Re-reads all totals and the per-day buckets of the window from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${admin.stats.reconcile-cron:0 30 4 * * *}")
+    public void reconcile() {
+        reconcileTotals();
+        LocalDate first = LocalDate.now().minusDays(days - 1);
+        List<DailyCount> newPosts = postRepository.countDailySince(first.atStartOfDay());
+        List<DailyCount> signups = userRepository.countDailySince(first.atStartOfDay());
+        List<DailyCount> newLikes = voteRepository.countDailySince(first.atStartOfDay());
+        synchronized (this) {
+            Arrays.fill(bucketDays, Long.MIN_VALUE);
+            newPosts.forEach(count -> dailyPosts[claim(count.day().toEpochDay())] = count.count());
+            signups.forEach(count -> dailySignups[claim(count.day().toEpochDay())] = count.count());
+            newLikes.forEach(count -> dailyLikes[claim(count.day().toEpochDay())] = count.count());
+        }
+        log.info("Admin statistics loaded: {} users, {} posts", users.get(), posts.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.type()) {
+            case CREATED -> {
+                posts.incrementAndGet();
+                recordToday(dailyPosts, 1);
+            }
+            case DELETED -> {
+                posts.decrementAndGet();
+                cascaded(event.removed());
+            }
+            case COMMENT_REMOVED -> cascaded(event.removed());
+            case LIKED -> {
+                likes.incrementAndGet();
+                recordToday(dailyLikes, 1);
+            }
+            case UNLIKED -> likes.decrementAndGet();
+            case COMMENTED -> comments.incrementAndGet();
+            case SUSPENDED -> suspendedPosts.incrementAndGet();
+            case UNSUSPENDED -> suspendedPosts.decrementAndGet();
+            case COMMENT_SUSPENDED -> suspendedComments.incrementAndGet();
+            case COMMENT_UNSUSPENDED -> suspendedComments.decrementAndGet();
+            default -> {
+            }
+        }
+    }
+
+    public void usersRegistered(int count) {
+        users.addAndGet(count);
+        recordToday(dailySignups, count);
+    }
+
+    /**
+     * A deleted user takes their posts, comments and likes along through database cascades, so
+     * the totals are re-read once the deletion commits instead of adjusted. Deleting users is a
+     * rare admin action.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UsersChangedEvent event) {
+        if (event.deleted()) {
+            reconcileTotals();
+        }
+    }
+
+    // A deleted post or comment takes its comments (and a post its likes) along through cascades
+    private void cascaded(PostChangedEvent.Removed removed) {
+        if (removed == null) {
+            return;
+        }
+        if (removed.suspendedPost()) {
+            suspendedPosts.decrementAndGet();
+        }
+        likes.addAndGet(-removed.likes());
+        comments.addAndGet(-removed.commentAuthorIds().size());
+        suspendedComments.addAndGet(-removed.suspendedComments());
+    }
+
+    private void reconcileTotals() {
+        users.set(userRepository.count());
+        posts.set(postRepository.count());
+        comments.set(commentRepository.count());
+        likes.set(voteRepository.count());
+        suspendedPosts.set(postRepository.countBySuspendedTrue());
+        suspendedComments.set(commentRepository.countBySuspendedTrue());
+    }
+
+    private synchronized void recordToday(long[] series, long amount) {
+        series[claim(LocalDate.now().toEpochDay())] += amount;
+    }
+
+    // Returns the slot of the given day, clearing it first if it still holds an older day
+    private int claim(long epochDay) {
+        int slot = slot(epochDay);
+        if (bucketDays[slot] != epochDay) {
+            bucketDays[slot] = epochDay;
+            dailyPosts[slot] = 0;
+            dailySignups[slot] = 0;
+            dailyLikes[slot] = 0;
+        }
+        return slot;
+    }
+
+    private int slot(long epochDay) {
+        return (int) Math.floorMod(epochDay, (long) days);
+    }
+}
@@ -25,6 +25,8 @@ public class AuthService {
     private final EmailService emailService;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final SearchSuggestService searchSuggestService;
+    private final AdminStatsService adminStatsService;
 
     /**
      * Registers a new user and sends an OTP to their email for verification.
@@ -48,6 +50,7 @@ public class AuthService {
                 .otpExpiryTime(LocalDateTime.now().plusMinutes(5))
                 .build();
         userRepository.save(user);
+        adminStatsService.usersRegistered(1);
         emailService.sendOtpEmail(user.getEmail(), otp);
     }
 
@@ -85,6 +88,7 @@ public class AuthService {
         user.setVerificationOtp(null);
         user.setOtpExpiryTime(null);
         userRepository.save(user);
+        searchSuggestService.userChanged(user.getId());
 
         String jwtToken = jwtService.generateToken(user.getUsername());
         return AuthResponse.builder()
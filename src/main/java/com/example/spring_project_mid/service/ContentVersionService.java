@@ -0,0 +1,107 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.ContentVersion;
+import com.example.spring_project_mid.event.NotificationsChangedEvent;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.event.UsersChangedEvent;
+import com.example.spring_project_mid.model.User;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a version for the global feed, for each post and for each user, so pages can be validated
+ * with If-None-Match / If-Modified-Since without touching the database.
+ *
+ * <p>A version is the time of the last change in epoch millis (strictly increasing per scope), which
+ * lets it double as Last-Modified. Everything starts at the startup time, so tokens handed out by
+ * a previous run never match. Versions are bumped after the change commits, never before.
+ *
+ * <p>Pages are personalised (liked/saved buttons, notification badge), so every token also carries
+ * the viewer's id and the viewer's own version, and an "identity" version that moves whenever any
+ * profile (name, avatar, status) changes.
+ */
+@Service
+public class ContentVersionService {
+
+    private final long startedAt = System.currentTimeMillis();
+    private final String nonce = Long.toString(startedAt, 36);
+
+    private final AtomicLong feed = new AtomicLong(startedAt);
+    private final AtomicLong identity = new AtomicLong(startedAt);
+    private final Map<Long, Long> posts = new ConcurrentHashMap<>();
+    private final Map<Long, Long> users = new ConcurrentHashMap<>();
+    private final Map<String, Long> userIdsByUsername = new ConcurrentHashMap<>();
+
+    public ContentVersion feed(User viewer) {
+        return version("f", feed.get(), viewer);
+    }
+
+    public ContentVersion post(Long postId, User viewer) {
+        return version("p" + postId, posts.getOrDefault(postId, startedAt), viewer);
+    }
+
+    /**
+     * Returns null until the profile has been rendered once, since only then do we know
+     * which user id the username belongs to.
+     */
+    public ContentVersion profile(String username, User viewer) {
+        Long userId = userIdsByUsername.get(username);
+        if (userId == null) {
+            return null;
+        }
+        return version("u" + userId, users.getOrDefault(userId, startedAt), viewer);
+    }
+
+    public void rememberProfile(User user) {
+        userIdsByUsername.put(user.getUsername(), user.getId());
+    }
+
+    /**
+     * Call after a user's own fields (display name, avatar, status) change; those appear on many pages.
+     */
+    public void profileChanged(Long userId) {
+        bump(users, userId);
+        identity.accumulateAndGet(0, (previous, ignored) -> next(previous));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        feed.accumulateAndGet(0, (previous, ignored) -> next(previous));
+        bump(posts, event.postId());
+        bump(users, event.authorId());
+        if (event.actorId() != null) {
+            bump(users, event.actorId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UsersChangedEvent event) {
+        event.userIds().forEach(this::profileChanged);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsChanged(NotificationsChangedEvent event) {
+        bump(users, event.userId());
+    }
+
+    private ContentVersion version(String scope, long scopeVersion, User viewer) {
+        long viewerId = (viewer != null) ? viewer.getId() : 0;
+        long viewerVersion = (viewer != null) ? users.getOrDefault(viewer.getId(), startedAt) : startedAt;
+        long identityVersion = identity.get();
+        String etag = "W/\"" + nonce + "-" + scope + "." + scopeVersion
+                + "-i." + identityVersion + "-v" + viewerId + "." + viewerVersion + "\"";
+        return new ContentVersion(etag, Math.max(scopeVersion, Math.max(identityVersion, viewerVersion)));
+    }
+
+    private static void bump(Map<Long, Long> versions, Long key) {
+        versions.merge(key, next(0), (previous, ignored) -> next(previous));
+    }
+
+    private static long next(long previous) {
+        return Math.max(previous + 1, System.currentTimeMillis());
+    }
+}
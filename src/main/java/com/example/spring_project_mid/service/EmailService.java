@@ -1,12 +1,21 @@
 package com.example.spring_project_mid.service;
 
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class EmailService {
 
@@ -15,6 +24,31 @@ public class EmailService {
     @Value("${spring.mail.username}")
     private String fromEmail;
 
+    @Value("${mail.queue.capacity:10000}")
+    private int queueCapacity;
+
+    // Sends queued mail one message at a time; a full queue makes the caller send inline (back-pressure)
+    private ThreadPoolExecutor queue;
+
+    @PostConstruct
+    void startQueue() {
+        queue = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "mail-queue");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void drainQueue() throws InterruptedException {
+        queue.shutdown();
+        if (!queue.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Dropping {} queued emails on shutdown", queue.shutdownNow().size());
+        }
+    }
+
     /**
      * Sends an OTP email to the specified recipient.
      *
@@ -44,4 +78,25 @@ public class EmailService {
         message.setText("To reset your password, click the link below (valid for 1 hour):\n" + resetLink);
         mailSender.send(message);
     }
-}
\ No newline at end of file
+
+    /**
+     * Queues a welcome email for an account created by an administrator. Returns immediately;
+     * a failed send is logged and not retried.
+     */
+    public void queueWelcomeEmail(String to, String username) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom(fromEmail);
+        message.setTo(to);
+        message.setSubject("Your account has been created");
+        message.setText("An account with the username " + username + " has been created for you.\n"
+                + "Sign in with the password you were given. You can change it at any time with "
+                + "\"Forgot password\" on the sign-in page.");
+        queue.execute(() -> {
+            try {
+                mailSender.send(message);
+            } catch (MailException e) {
+                log.warn("Could not send welcome email to {}: {}", to, e.getMessage());
+            }
+        });
+    }
+}
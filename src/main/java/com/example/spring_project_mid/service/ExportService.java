@@ -0,0 +1,153 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.repository.CommentRepository;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes full admin dumps of users, posts or comments as CSV or NDJSON. Rows are read as plain
+ * column arrays from a server-side cursor inside a read-only transaction, so no entity is loaded
+ * and memory stays constant however many rows there are.
+ */
+@Service
+@RequiredArgsConstructor
+public class ExportService {
+
+    // Rows written between two flushes to the client
+    private static final int FLUSH_EVERY = 500;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public enum Format { CSV, NDJSON }
+
+    /**
+     * What can be exported; the columns match the order of the repository's streamExport query.
+     */
+    public enum Dataset {
+        USERS(List.of("id", "username", "display_name", "email", "role", "enabled", "created_at")),
+        POSTS(List.of("id", "author_id", "author_username", "title", "content", "link_url", "suspended",
+                "like_count", "comment_count", "save_count", "created_at", "updated_at")),
+        COMMENTS(List.of("id", "post_id", "parent_comment_id", "author_id", "author_username", "content",
+                "suspended", "created_at"));
+
+        private final List<String> columns;
+
+        Dataset(List<String> columns) {
+            this.columns = columns;
+        }
+    }
+
+    public void export(Dataset dataset, Format format, boolean gzip, OutputStream out) throws IOException {
+        OutputStream target = gzip ? new GZIPOutputStream(out, 8192) : out;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8));
+        JsonGenerator json = null;
+        if (format == Format.NDJSON) {
+            json = objectMapper.createGenerator(writer);
+            // Rows are separated by the newline written after each one, not Jackson's default space
+            json.setRootValueSeparator(null);
+        }
+        JsonGenerator generator = json;
+
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        try {
+            transaction.executeWithoutResult(status -> {
+                try (Stream<Object[]> rows = rows(dataset)) {
+                    if (format == Format.CSV) {
+                        writeCsvRow(writer, dataset.columns.toArray());
+                    }
+                    Iterator<Object[]> iterator = rows.iterator();
+                    for (int written = 1; iterator.hasNext(); written++) {
+                        if (generator != null) {
+                            writeJsonRow(generator, dataset.columns, iterator.next());
+                        } else {
+                            writeCsvRow(writer, iterator.next());
+                        }
+                        if (written % FLUSH_EVERY == 0) {
+                            (generator != null ? generator : writer).flush();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Usually the client went away; rolls back the (read-only) transaction and closes the cursor
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        (generator != null ? generator : writer).flush();
+        if (target instanceof GZIPOutputStream compressed) {
+            compressed.finish();
+        }
+        out.flush();
+    }
+
+    private Stream<Object[]> rows(Dataset dataset) {
+        return switch (dataset) {
+            case USERS -> userRepository.streamExport();
+            case POSTS -> postRepository.streamExport();
+            case COMMENTS -> commentRepository.streamExport();
+        };
+    }
+
+    private static void writeJsonRow(JsonGenerator json, List<String> columns, Object[] row) throws IOException {
+        json.writeStartObject();
+        for (int i = 0; i < columns.size(); i++) {
+            json.writeFieldName(columns.get(i));
+            json.writeObject(row[i]);
+        }
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writeCsvRow(Writer writer, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (row[i] != null) {
+                writer.write(csvCell(row[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quotes a value per RFC 4180 and defuses text that spreadsheets would run as a formula.
+     */
+    static String csvCell(String value) {
+        if (!value.isEmpty() && "=+-@\t\r".indexOf(value.charAt(0)) >= 0 && !isNumber(value)) {
+            value = "'" + value;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+
+    private static boolean isNumber(String value) {
+        try {
+            Double.parseDouble(value);
+            return true;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.FeedPage;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.dto.TimelineEntry;
+import com.example.spring_project_mid.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class FeedService {
+
+    public static final int PAGE_SIZE = 10;
+
+    private final PostRepository postRepository;
+    private final TimelineCache timelineCache;
+    private final PostSummaryCache postSummaryCache;
+    private final PostSummaryService postSummaryService;
+    private final HotRankingService hotRankingService;
+
+    /**
+     * Loads one page of non-suspended posts, newest first, starting after the given cursor.
+     * Pass null to get the first page. Pages inside the timeline cache are served from memory
+     * (only uncached cards are loaded); older pages fall back to a keyset query.
+     */
+    public FeedPage loadPage(FeedCursor cursor) {
+        // Ask for one extra row so we know whether another page exists
+        List<TimelineEntry> window = timelineCache.page(cursor, PAGE_SIZE + 1);
+        if (window == null) {
+            window = loadFromDatabase(cursor);
+        }
+
+        boolean hasMore = window.size() > PAGE_SIZE;
+        if (hasMore) {
+            window = window.subList(0, PAGE_SIZE);
+        }
+        List<PostSummary> posts = postSummaryCache.getAll(window.stream().map(TimelineEntry::id).toList());
+
+        String nextCursor = null;
+        if (hasMore) {
+            TimelineEntry last = window.get(window.size() - 1);
+            nextCursor = new FeedCursor(last.createdAt(), last.id()).encode();
+        }
+        return new FeedPage(posts, nextCursor);
+    }
+
+    /**
+     * Loads one page of the "Hot" tab. The ranking is held in memory, so the cursor is simply
+     * the rank to continue from.
+     */
+    public FeedPage loadHotPage(int offset) {
+        List<Long> ids = hotRankingService.page(offset, PAGE_SIZE + 1);
+        boolean hasMore = ids.size() > PAGE_SIZE;
+        if (hasMore) {
+            ids = ids.subList(0, PAGE_SIZE);
+        }
+        List<PostSummary> posts = postSummaryCache.getAll(ids);
+        return new FeedPage(posts, hasMore ? String.valueOf(offset + PAGE_SIZE) : null);
+    }
+
+    // Reads the page beyond the cached window and primes the summary cache with its cards
+    private List<TimelineEntry> loadFromDatabase(FeedCursor cursor) {
+        Limit limit = Limit.of(PAGE_SIZE + 1);
+        List<PostSummary> posts = (cursor == null)
+                ? postRepository.findFeedFirstPage(limit)
+                : postRepository.findFeedPageBefore(cursor.createdAt(), cursor.id(), limit);
+        postSummaryCache.putAll(postSummaryService.withImages(posts));
+        return posts.stream().map(p -> new TimelineEntry(p.id(), p.createdAt())).toList();
+    }
+}
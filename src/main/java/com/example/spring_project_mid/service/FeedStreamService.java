@@ -0,0 +1,82 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class FeedStreamService {
+
+    // Posts read per query (images included) and written between two flushes
+    private static final int CHUNK_SIZE = 50;
+
+    private final PostRepository postRepository;
+    private final PostSummaryService postSummaryService;
+    private final ObjectMapper objectMapper;
+    private final PlatformTransactionManager transactionManager;
+
+    public enum Format { NDJSON, SSE }
+
+    /**
+     * Writes the feed after the given cursor (from the newest post when null), at most {@code limit} posts.
+     * Posts are read in keyset pages of a few dozen, each in its own short read-only transaction, and
+     * flushed to the client between pages: no connection is held while writing to a slow client, and
+     * neither the time to first byte nor memory grows with the size of the feed.
+     * In SSE mode each event id is the post's cursor, so a reconnecting EventSource resumes where it stopped.
+     */
+    public void stream(FeedCursor cursor, long limit, Format format, OutputStream out) throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        FeedCursor after = cursor;
+        long remaining = limit;
+        while (remaining > 0) {
+            FeedCursor from = after;
+            Limit page = Limit.of((int) Math.min(CHUNK_SIZE, remaining));
+            List<PostSummary> chunk = transaction.execute(status -> postSummaryService.withImages((from == null)
+                    ? postRepository.findFeedFirstPage(page)
+                    : postRepository.findFeedPageBefore(from.createdAt(), from.id(), page)));
+            writeChunk(chunk, format, out);
+            if (chunk.size() < page.max()) {
+                break;
+            }
+            PostSummary last = chunk.get(chunk.size() - 1);
+            after = new FeedCursor(last.createdAt(), last.id());
+            remaining -= chunk.size();
+        }
+        if (format == Format.SSE) {
+            out.write("event: end\ndata: {}\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private void writeChunk(List<PostSummary> chunk, Format format, OutputStream out) throws IOException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        for (PostSummary post : chunk) {
+            byte[] json = objectMapper.writeValueAsBytes(post);
+            if (format == Format.SSE) {
+                String id = new FeedCursor(post.createdAt(), post.id()).encode();
+                out.write(("id: " + id + "\nevent: post\ndata: ").getBytes(StandardCharsets.UTF_8));
+                out.write(json);
+                out.write("\n\n".getBytes(StandardCharsets.UTF_8));
+            } else {
+                out.write(json);
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+}
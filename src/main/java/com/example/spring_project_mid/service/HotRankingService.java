@@ -0,0 +1,267 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.PostEngagement;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.*;
+
+/**
+ * Ranks recent posts by engagement that decays exponentially with a configurable half-life.
+ *
+ * <p>Every like, comment or save adds {@code weight * e^(lambda * (t - base))} to the post's score.
+ * Because all scores share the factor {@code e^(-lambda * (now - base))}, decaying them is implicit:
+ * the order never has to be recomputed, and the periodic job only moves {@code base} forward to keep
+ * the numbers small and drops posts that left the window. An unlike, unsave or comment removal
+ * (with every reply it took along) subtracts the term each original event added, at that event's
+ * time {@code t}, so undoing engagement leaves the post exactly where it would be without it.
+ * Readers only touch an immutable top-K snapshot, so they never wait for writers.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class HotRankingService {
+
+    private static final double POST_WEIGHT = 1;
+
+    private static final Comparator<Ranked> HOTTEST_FIRST = Comparator
+            .comparingDouble(Ranked::score).reversed()
+            .thenComparing(Ranked::postId, Comparator.reverseOrder());
+
+    private final PostRepository postRepository;
+
+    @Value("${feed.hot.half-life:PT12H}")
+    private Duration halfLife;
+
+    @Value("${feed.hot.window:P7D}")
+    private Duration window;
+
+    @Value("${feed.hot.size:200}")
+    private int size;
+
+    // Guarded by "this"; only writers take the lock
+    private final Map<Long, Ranked> byPost = new HashMap<>();
+    private final Map<Long, Engagement> engagement = new HashMap<>();
+    private TreeSet<Ranked> ranking = new TreeSet<>(HOTTEST_FIRST);
+    private long baseSecond = nowSecond();
+
+    private volatile List<Long> top = List.of();
+
+    private enum Kind {
+        LIKE(1), COMMENT(2), SAVE(3);
+
+        final double weight;
+
+        Kind(double weight) {
+            this.weight = weight;
+        }
+    }
+
+    private record Ranked(Long postId, double score, LocalDateTime createdAt) {
+    }
+
+    /**
+     * When the engagement behind a post's score happened. Live events are kept per kind and user
+     * (epoch seconds, newest first); engagement loaded from the counters at startup only has a
+     * count, and like the seed it counts as of the post's creation.
+     */
+    private static final class Engagement {
+        final long createdSecond;
+        final Map<Kind, Integer> seeded = new EnumMap<>(Kind.class);
+        final Map<Kind, Map<Long, Deque<Long>>> live = new EnumMap<>(Kind.class);
+
+        Engagement(long createdSecond) {
+            this.createdSecond = createdSecond;
+        }
+    }
+
+    /**
+     * Returns up to {@code count} post ids starting at the given rank. Never blocks.
+     */
+    public List<Long> page(int offset, int count) {
+        List<Long> snapshot = top;
+        int from = Math.min(Math.max(offset, 0), snapshot.size());
+        int to = Math.min(from + count, snapshot.size());
+        return snapshot.subList(from, to);
+    }
+
+    /**
+     * Seeds scores from the stored counters of every post inside the window, treating all of its
+     * engagement as if it happened when the post was created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        byPost.clear();
+        ranking.clear();
+        engagement.clear();
+        baseSecond = nowSecond();
+        List<PostEngagement> recent = postRepository.findEngagementSince(LocalDateTime.now().minus(window));
+        recent.forEach(this::track);
+        publish();
+        log.info("Hot ranking seeded with {} posts", recent.size());
+    }
+
+    /**
+     * Moves the decay base to now and forgets posts that are older than the window.
+     */
+    @Scheduled(initialDelayString = "${feed.hot.decay-ms:300000}", fixedDelayString = "${feed.hot.decay-ms:300000}")
+    public synchronized void decay() {
+        long newBase = nowSecond();
+        double factor = Math.exp(-lambda() * (newBase - baseSecond));
+        LocalDateTime oldest = LocalDateTime.now().minus(window);
+
+        TreeSet<Ranked> rebased = new TreeSet<>(HOTTEST_FIRST);
+        byPost.clear();
+        for (Ranked ranked : ranking) {
+            if (ranked.createdAt().isBefore(oldest)) {
+                continue;
+            }
+            Ranked scaled = new Ranked(ranked.postId(), ranked.score() * factor, ranked.createdAt());
+            rebased.add(scaled);
+            byPost.put(scaled.postId(), scaled);
+        }
+        ranking = rebased;
+        engagement.keySet().retainAll(byPost.keySet());
+        baseSecond = newBase;
+        publish();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        Long postId = event.postId();
+        switch (event.type()) {
+            case CREATED -> created(postId);
+            case LIKED -> add(postId, Kind.LIKE, event.actorId());
+            case UNLIKED -> undo(postId, Kind.LIKE, List.of(event.actorId()));
+            case COMMENTED -> add(postId, Kind.COMMENT, event.actorId());
+            // The comment's replies went with it and are undone too
+            case COMMENT_REMOVED -> undo(postId, Kind.COMMENT, event.removed().commentAuthorIds());
+            case SAVED -> add(postId, Kind.SAVE, event.actorId());
+            case UNSAVED -> undo(postId, Kind.SAVE, List.of(event.actorId()));
+            case DELETED, SUSPENDED -> remove(postId);
+            case UNSUSPENDED -> postRepository.findEngagement(postId)
+                    .filter(post -> post.createdAt().isAfter(LocalDateTime.now().minus(window)))
+                    .ifPresent(this::restore);
+            default -> {
+            }
+        }
+    }
+
+    private synchronized void created(Long postId) {
+        long now = nowSecond();
+        replace(byPost.get(postId), new Ranked(postId, POST_WEIGHT * boost(now), LocalDateTime.now()));
+        engagement.put(postId, new Engagement(now));
+        publish();
+    }
+
+    /**
+     * Adds engagement happening now. Engagement on untracked posts (outside the window) is ignored.
+     */
+    private synchronized void add(Long postId, Kind kind, Long actorId) {
+        Ranked current = byPost.get(postId);
+        if (current == null) {
+            return;
+        }
+        long now = nowSecond();
+        engagement.get(postId).live.computeIfAbsent(kind, k -> new HashMap<>())
+                .computeIfAbsent(actorId, actor -> new ArrayDeque<>()).push(now);
+        replace(current, new Ranked(postId, current.score() + kind.weight * boost(now), current.createdAt()));
+        publish();
+    }
+
+    /**
+     * For each actor (once per undone event), removes the term their latest engagement of this
+     * kind added, or one seeded from the counters if they have none recorded since startup.
+     */
+    private synchronized void undo(Long postId, Kind kind, List<Long> actorIds) {
+        Ranked current = byPost.get(postId);
+        if (current == null) {
+            return;
+        }
+        Engagement post = engagement.get(postId);
+        Map<Long, Deque<Long>> byActor = post.live.getOrDefault(kind, Map.of());
+        double removed = 0;
+        for (Long actorId : actorIds) {
+            Deque<Long> seconds = byActor.get(actorId);
+            if (seconds != null) {
+                removed += kind.weight * boost(seconds.pop());
+                if (seconds.isEmpty()) {
+                    byActor.remove(actorId);
+                }
+            } else if (post.seeded.getOrDefault(kind, 0) > 0) {
+                post.seeded.merge(kind, -1, Integer::sum);
+                removed += kind.weight * boost(post.createdSecond);
+            }
+        }
+        if (removed == 0) {
+            return;
+        }
+        replace(current, new Ranked(postId, current.score() - removed, current.createdAt()));
+        publish();
+    }
+
+    private synchronized void restore(PostEngagement post) {
+        track(post);
+        publish();
+    }
+
+    private synchronized void remove(Long postId) {
+        Ranked current = byPost.remove(postId);
+        engagement.remove(postId);
+        if (current != null) {
+            ranking.remove(current);
+            publish();
+        }
+    }
+
+    private void track(PostEngagement post) {
+        double weight = POST_WEIGHT
+                + Kind.LIKE.weight * post.likeCount()
+                + Kind.COMMENT.weight * post.commentCount()
+                + Kind.SAVE.weight * post.saveCount();
+        long createdSecond = post.createdAt().atZone(ZoneId.systemDefault()).toEpochSecond();
+        replace(byPost.get(post.id()), new Ranked(post.id(), weight * boost(createdSecond), post.createdAt()));
+
+        Engagement seeded = new Engagement(createdSecond);
+        seeded.seeded.put(Kind.LIKE, post.likeCount());
+        seeded.seeded.put(Kind.COMMENT, post.commentCount());
+        seeded.seeded.put(Kind.SAVE, post.saveCount());
+        engagement.put(post.id(), seeded);
+    }
+
+    private void replace(Ranked current, Ranked updated) {
+        if (current != null) {
+            ranking.remove(current);
+        }
+        ranking.add(updated);
+        byPost.put(updated.postId(), updated);
+    }
+
+    private void publish() {
+        top = ranking.stream().limit(size).map(Ranked::postId).toList();
+    }
+
+    // e^(lambda * (second - base)): the weight factor of something that happened at that second
+    private double boost(long second) {
+        return Math.exp(lambda() * (second - baseSecond));
+    }
+
+    private double lambda() {
+        return Math.log(2) / halfLife.toSeconds();
+    }
+
+    private static long nowSecond() {
+        return System.currentTimeMillis() / 1000;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.BulkModerationResult;
+import com.example.spring_project_mid.dto.ModerationTarget;
+import com.example.spring_project_mid.dto.NotificationDraft;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.event.UsersChangedEvent;
+import com.example.spring_project_mid.model.enums.NotificationType;
+import com.example.spring_project_mid.repository.CommentRepository;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Applies a moderation decision to many posts, comments or users at once: one query finds the
+ * items whose state actually changes and one UPDATE changes them, in one transaction; their
+ * notifications are queued for batched insertion once it commits. Post events are published per
+ * item, so caches and counters react exactly as they do to the single-item toggles; account changes
+ * are published as one event for the whole batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class ModerationService {
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final UserRepository userRepository;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Transactional
+    public BulkModerationResult setPostsSuspended(Collection<Long> ids, boolean suspended) {
+        List<ModerationTarget> posts = postRepository.findModerationTargets(ids, suspended);
+        if (posts.isEmpty()) {
+            return new BulkModerationResult(ids.size(), 0);
+        }
+        postRepository.updateSuspended(idsOf(posts), suspended, LocalDateTime.now());
+
+        List<NotificationDraft> notifications = new ArrayList<>();
+        for (ModerationTarget post : posts) {
+            eventPublisher.publishEvent(new PostChangedEvent(post.id(), post.postOwnerId(), null,
+                    suspended ? PostChangedEvent.Type.SUSPENDED : PostChangedEvent.Type.UNSUSPENDED));
+            if (suspended) {
+                notifications.add(new NotificationDraft(post.postOwnerId(), NotificationType.POST_SUSPENDED, null, post.id()));
+            }
+        }
+        notificationService.notifyAll(notifications);
+        return new BulkModerationResult(ids.size(), posts.size());
+    }
+
+    @Transactional
+    public BulkModerationResult setCommentsSuspended(Collection<Long> ids, boolean suspended) {
+        List<ModerationTarget> comments = commentRepository.findModerationTargets(ids, suspended);
+        if (comments.isEmpty()) {
+            return new BulkModerationResult(ids.size(), 0);
+        }
+        commentRepository.updateSuspended(idsOf(comments), suspended);
+
+        List<NotificationDraft> notifications = new ArrayList<>();
+        for (ModerationTarget comment : comments) {
+            eventPublisher.publishEvent(new PostChangedEvent(comment.postId(), comment.postOwnerId(), comment.ownerId(),
+                    suspended ? PostChangedEvent.Type.COMMENT_SUSPENDED : PostChangedEvent.Type.COMMENT_UNSUSPENDED));
+            if (suspended) {
+                notifications.add(new NotificationDraft(comment.ownerId(), NotificationType.COMMENT_SUSPENDED,
+                        null, comment.postId()));
+                if (!comment.postOwnerId().equals(comment.ownerId())) {
+                    notifications.add(new NotificationDraft(comment.postOwnerId(), NotificationType.POST_COMMENT_SUSPENDED,
+                            comment.ownerId(), comment.postId()));
+                }
+            } else {
+                notifications.add(new NotificationDraft(comment.ownerId(), NotificationType.COMMENT_UNSUSPENDED,
+                        null, comment.postId()));
+            }
+        }
+        notificationService.notifyAll(notifications);
+        return new BulkModerationResult(ids.size(), comments.size());
+    }
+
+    /**
+     * Enables or disables many accounts. The acting admin is always skipped so they cannot lock
+     * themselves out.
+     */
+    @Transactional
+    public BulkModerationResult setUsersEnabled(Collection<Long> ids, boolean enabled, Long actorId) {
+        List<Long> users = userRepository.findIdsToSetEnabled(ids, enabled, actorId);
+        if (users.isEmpty()) {
+            return new BulkModerationResult(ids.size(), 0);
+        }
+        userRepository.updateEnabled(users, enabled);
+        eventPublisher.publishEvent(new UsersChangedEvent(users, false));
+        return new BulkModerationResult(ids.size(), users.size());
+    }
+
+    private static List<Long> idsOf(List<ModerationTarget> targets) {
+        return targets.stream().map(ModerationTarget::id).toList();
+    }
+}
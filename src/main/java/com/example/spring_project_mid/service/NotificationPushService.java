@@ -0,0 +1,173 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.NotificationItem;
+import com.example.spring_project_mid.event.NotificationsChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+
+/**
+ * Pushes unread-count changes ("unread") and new notifications ("notification") to the open
+ * browser tabs of each user over Server-Sent Events; after a burst too large to push one by one,
+ * "refresh" tells the tab to reload its list instead. Streams are async servlet requests, so an
+ * idle one holds a socket and a small registry entry but no thread. Everything that touches the
+ * database or a socket runs on a small private pool: a slow client never stalls the notification
+ * writer, and no JPA session (open-in-view) stays bound to a long-lived request.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationPushService {
+
+    private static final int SEND_QUEUE_CAPACITY = 10000;
+
+    // New notifications pushed individually per change; a larger burst is sent as "refresh"
+    private static final int PUSH_BATCH = 20;
+
+    private final UnreadNotificationCounter unreadNotificationCounter;
+    private final NotificationService notificationService;
+
+    @Value("${notifications.push.timeout:PT30M}")
+    private Duration timeout;
+
+    @Value("${notifications.push.max-per-user:5}")
+    private int maxPerUser;
+
+    @Value("${notifications.push.threads:2}")
+    private int threads;
+
+    private final Map<Long, Subscriber> subscribers = new ConcurrentHashMap<>();
+
+    // Every event carries the full unread count, so a dropped one is corrected by the next
+    private ThreadPoolExecutor sender;
+
+    // One user's open streams, oldest first, and the newest notification already pushed to them
+    private static final class Subscriber {
+        final Deque<SseEmitter> emitters = new ConcurrentLinkedDeque<>();
+        volatile LocalDateTime lastPushed = LocalDateTime.now();
+    }
+
+    @PostConstruct
+    void start() {
+        sender = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(SEND_QUEUE_CAPACITY),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-push");
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    @PreDestroy
+    void stop() {
+        sender.shutdownNow();
+        subscribers.values().forEach(subscriber -> subscriber.emitters.forEach(SseEmitter::complete));
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = subscribers.compute(userId, (id, existing) -> {
+            Subscriber current = (existing != null) ? existing : new Subscriber();
+            current.emitters.add(emitter);
+            return current;
+        });
+        // A reconnecting browser (EventSource retries by itself) must not pile up streams
+        while (subscriber.emitters.size() > maxPerUser) {
+            SseEmitter oldest = subscriber.emitters.poll();
+            if (oldest != null) {
+                oldest.complete();
+            }
+        }
+        emitter.onCompletion(() -> unsubscribe(userId, emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(error -> unsubscribe(userId, emitter));
+
+        sender.execute(() -> send(userId, emitter, unreadEvent(unreadNotificationCounter.unread(userId))));
+        return emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsChanged(NotificationsChangedEvent event) {
+        if (subscribers.containsKey(event.userId())) {
+            sender.execute(() -> push(event.userId()));
+        }
+    }
+
+    /**
+     * Keeps idle streams alive through proxies and finds clients that went away without closing.
+     */
+    @Scheduled(initialDelayString = "${notifications.push.heartbeat-ms:25000}",
+            fixedDelayString = "${notifications.push.heartbeat-ms:25000}")
+    public void heartbeat() {
+        if (!subscribers.isEmpty()) {
+            sender.execute(() -> subscribers.forEach((userId, subscriber) -> subscriber.emitters
+                    .forEach(emitter -> send(userId, emitter, SseEmitter.event().comment("ping")))));
+        }
+    }
+
+    private void push(Long userId) {
+        Subscriber subscriber = subscribers.get(userId);
+        if (subscriber == null) {
+            return;
+        }
+        long unread = unreadNotificationCounter.unread(userId);
+        // Newest first. Coalesced rows move their createdAt forward, so an update to one counts as new as well
+        LocalDateTime since = subscriber.lastPushed;
+        List<NotificationItem> fresh = new ArrayList<>(notificationService.latest(userId, PUSH_BATCH).stream()
+                .filter(item -> !item.read() && item.createdAt().isAfter(since))
+                .toList());
+        if (!fresh.isEmpty()) {
+            subscriber.lastPushed = fresh.get(0).createdAt();
+        }
+        // Every row read was new, so older ones from the same burst may be missing
+        boolean refresh = fresh.size() == PUSH_BATCH;
+        Collections.reverse(fresh);
+        for (SseEmitter emitter : subscriber.emitters) {
+            send(userId, emitter, unreadEvent(unread));
+            if (refresh) {
+                send(userId, emitter, SseEmitter.event().name("refresh").data(""));
+            } else {
+                fresh.forEach(item -> send(userId, emitter, SseEmitter.event().name("notification").data(item)));
+            }
+        }
+    }
+
+    // Builders append to themselves when sent, so every emitter gets its own
+    private static SseEmitter.SseEventBuilder unreadEvent(long unread) {
+        return SseEmitter.event().name("unread").data(unread);
+    }
+
+    private void send(Long userId, SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client disconnected or the stream already completed
+            unsubscribe(userId, emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private void unsubscribe(Long userId, SseEmitter emitter) {
+        subscribers.computeIfPresent(userId, (id, subscriber) -> {
+            subscriber.emitters.remove(emitter);
+            return subscriber.emitters.isEmpty() ? null : subscriber;
+        });
+    }
+}
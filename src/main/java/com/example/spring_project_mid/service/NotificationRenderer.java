@@ -0,0 +1,84 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.AuthorSummary;
+import com.example.spring_project_mid.dto.NotificationItem;
+import com.example.spring_project_mid.dto.NotificationRow;
+import com.example.spring_project_mid.dto.PostTitle;
+import com.example.spring_project_mid.model.Notification;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Turns stored notification rows into display text. Templates come from messages.properties
+ * through the MessageSource, which parses each one once and caches it; the actor names and post
+ * titles of a whole page are fetched with one query each. Renaming a user or a post therefore
+ * shows up in notifications they appear in, and a deleted post reads as such without a link.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationRenderer {
+
+    private final MessageSource messageSource;
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+
+    public List<NotificationItem> render(List<NotificationRow> rows) {
+        Set<Long> actorIds = new HashSet<>();
+        Set<Long> postIds = new HashSet<>();
+        for (NotificationRow row : rows) {
+            if (row.type() != null) {
+                if (row.actorId() != null) {
+                    actorIds.add(row.actorId());
+                }
+                if (row.postId() != null) {
+                    postIds.add(row.postId());
+                }
+            }
+        }
+        Map<Long, String> usernames = actorIds.isEmpty() ? Map.of() : userRepository.findAuthorsByIdIn(actorIds).stream()
+                .collect(Collectors.toMap(AuthorSummary::id, AuthorSummary::username));
+        Map<Long, String> titles = postIds.isEmpty() ? Map.of() : postRepository.findTitlesByIdIn(postIds).stream()
+                .collect(Collectors.toMap(PostTitle::id, PostTitle::title));
+
+        Locale locale = LocaleContextHolder.getLocale();
+        List<NotificationItem> items = new ArrayList<>(rows.size());
+        for (NotificationRow row : rows) {
+            if (row.type() == null) {
+                items.add(new NotificationItem(row.id(), row.message(), row.link(), row.read(), row.createdAt()));
+                continue;
+            }
+            // Either id may be null (a suspension has no actor), and Map.of() rejects null keys
+            String title = (row.postId() != null) ? titles.get(row.postId()) : null;
+            String actor = (row.actorId() != null) ? usernames.get(row.actorId()) : null;
+            if (actor == null) {
+                actor = messageSource.getMessage("notification.someone", null, locale);
+            }
+            int others = (row.actorCount() != null) ? row.actorCount() - 1 : 0;
+            Object[] args = {
+                    messageSource.getMessage("notification.actors", new Object[]{actor, others}, locale),
+                    (title != null) ? title : messageSource.getMessage("notification.deleted-post", null, locale)
+            };
+            items.add(new NotificationItem(row.id(), messageSource.getMessage("notification." + row.type(), args, locale),
+                    (title != null) ? "/posts/" + row.postId() : null, row.read(), row.createdAt()));
+        }
+        return items;
+    }
+
+    /**
+     * Where opening the notification leads, or null if its post is gone.
+     */
+    public String link(Notification notification) {
+        if (notification.getType() == null) {
+            return notification.getLink();
+        }
+        Long postId = notification.getPostId();
+        return (postId != null && postRepository.existsById(postId)) ? "/posts/" + postId : null;
+    }
+}
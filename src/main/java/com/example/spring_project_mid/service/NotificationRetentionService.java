@@ -0,0 +1,153 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.RetentionStats;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the notifications table small: read notifications older than the configured age are
+ * moved to notifications_archive (or deleted outright) in bounded batches. Each batch is one
+ * statement in its own transaction, skips rows another transaction holds, and is followed by a
+ * pause, so a large backlog drains over several nights without long locks or I/O spikes. Unread
+ * notifications are never touched.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationRetentionService {
+
+    public enum Mode { ARCHIVE, DELETE }
+
+    // Walks idx_notifications_read_created, oldest first
+    private static final String CANDIDATES = "SELECT id FROM notifications WHERE is_read = true AND created_at < ? "
+            + "ORDER BY created_at LIMIT ? FOR UPDATE SKIP LOCKED";
+
+    private static final String ARCHIVE = "WITH moved AS (DELETE FROM notifications WHERE id IN (" + CANDIDATES + ") "
+            + "RETURNING id, user_id, type, actor_id, post_id, actor_count, actor_ids, message, link, created_at) "
+            + "INSERT INTO notifications_archive "
+            + "(id, user_id, type, actor_id, post_id, actor_count, actor_ids, message, link, created_at, archived_at) "
+            + "SELECT id, user_id, type, actor_id, post_id, actor_count, actor_ids, message, link, created_at, ? FROM moved";
+
+    private static final String DELETE = "DELETE FROM notifications WHERE id IN (" + CANDIDATES + ")";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.retention.mode:ARCHIVE}")
+    private Mode mode;
+
+    @Value("${notifications.retention.max-age:P90D}")
+    private Duration maxAge;
+
+    @Value("${notifications.retention.batch-size:1000}")
+    private int batchSize;
+
+    // Pause between batches, and how long one run may take before it leaves the rest for the next
+    @Value("${notifications.retention.pause:PT0.2S}")
+    private Duration pause;
+
+    @Value("${notifications.retention.max-run:PT30M}")
+    private Duration maxRun;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final AtomicLong totalRows = new AtomicLong();
+    private volatile LocalDateTime lastStarted;
+    private volatile LocalDateTime lastFinished;
+    private volatile long lastRows;
+    private volatile long lastBatches;
+
+    // Runs off the shared scheduler thread, which a throttled run would otherwise hold for minutes
+    private ExecutorService worker;
+
+    @PostConstruct
+    void init() {
+        worker = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-retention");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stop() {
+        // Interrupts the pause; the batch in flight commits or rolls back on its own
+        worker.shutdownNow();
+    }
+
+    /**
+     * Starts a run in the background unless one is already in progress.
+     */
+    @Scheduled(cron = "${notifications.retention.cron:0 15 3 * * *}")
+    public void start() {
+        if (running.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                try {
+                    run();
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    private void run() {
+        LocalDateTime started = LocalDateTime.now();
+        Timestamp cutoff = Timestamp.valueOf(started.minus(maxAge));
+        long deadline = System.nanoTime() + maxRun.toNanos();
+        lastStarted = started;
+        lastFinished = null;
+        lastRows = 0;
+        lastBatches = 0;
+        try {
+            int rows;
+            do {
+                rows = (mode == Mode.ARCHIVE)
+                        ? jdbcTemplate.update(ARCHIVE, cutoff, batchSize, Timestamp.valueOf(LocalDateTime.now()))
+                        : jdbcTemplate.update(DELETE, cutoff, batchSize);
+                lastRows += rows;
+                lastBatches++;
+                totalRows.addAndGet(rows);
+                if (rows == batchSize) {
+                    Thread.sleep(pause.toMillis());
+                }
+            } while (rows == batchSize && System.nanoTime() < deadline);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (DataAccessException e) {
+            log.error("Notification retention stopped after {} rows", lastRows, e);
+        }
+        lastFinished = LocalDateTime.now();
+        if (lastRows > 0) {
+            log.info("Notification retention: {} {} read notifications older than {} days in {} batches",
+                    mode == Mode.ARCHIVE ? "archived" : "deleted", lastRows, maxAge.toDays(), lastBatches);
+        }
+    }
+
+    public RetentionStats stats() {
+        Map<String, Long> rows = new HashMap<>();
+        jdbcTemplate.query("SELECT relname, GREATEST(reltuples, 0)::bigint FROM pg_class "
+                        + "WHERE relname IN ('notifications', 'notifications_archive') AND relkind = 'r'",
+                resultSet -> {
+                    rows.put(resultSet.getString(1), resultSet.getLong(2));
+                });
+        return new RetentionStats(mode.name(), maxAge, running.get(), lastStarted, lastFinished,
+                lastRows, lastBatches, totalRows.get(),
+                rows.getOrDefault("notifications", 0L), rows.getOrDefault("notifications_archive", 0L));
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.NotificationDraft;
+import com.example.spring_project_mid.dto.NotificationItem;
+import com.example.spring_project_mid.dto.NotificationPage;
+import com.example.spring_project_mid.dto.NotificationRow;
+import com.example.spring_project_mid.event.NotificationsChangedEvent;
+import com.example.spring_project_mid.model.Notification;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.NotificationType;
+import com.example.spring_project_mid.repository.ArchivedNotificationRepository;
+import com.example.spring_project_mid.repository.NotificationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Single entry point for creating and reading notifications, so that everything derived from a
+ * user's notifications (page versions, unread badges) hears about every change.
+ */
+@Service
+@RequiredArgsConstructor
+public class NotificationService {
+
+    public static final int PAGE_SIZE = 20;
+
+    private final NotificationRepository notificationRepository;
+    private final ArchivedNotificationRepository archivedNotificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final NotificationWriter notificationWriter;
+    private final NotificationRenderer notificationRenderer;
+
+    /**
+     * Queues a new unread notification for the recipient; it is saved shortly after the current
+     * transaction commits. Types that coalesce (likes, comments, replies) merge with earlier ones
+     * about the same post, so every like of one post within the coalescing window ends up in a
+     * single row. {@code actor} is null for moderation notices.
+     */
+    public void notify(User recipient, NotificationType type, User actor, Long postId) {
+        notificationWriter.enqueue(List.of(new NotificationDraft(recipient.getId(), type,
+                (actor != null) ? actor.getId() : null, postId)));
+    }
+
+    /**
+     * Queues many unread notifications, see {@link #notify}.
+     */
+    public void notifyAll(List<NotificationDraft> drafts) {
+        notificationWriter.enqueue(drafts);
+    }
+
+    public void markRead(Notification notification) {
+        if (!notification.isRead()) {
+            notification.setRead(true);
+            notificationRepository.save(notification);
+            eventPublisher.publishEvent(new NotificationsChangedEvent(notification.getUser().getId()));
+        }
+    }
+
+    /**
+     * Marks every unread notification of the user as read in one UPDATE and returns how many
+     * there were.
+     */
+    @Transactional
+    public int markAllRead(User user) {
+        int updated = notificationRepository.markAllRead(user.getId());
+        if (updated > 0) {
+            eventPublisher.publishEvent(new NotificationsChangedEvent(user.getId()));
+        }
+        return updated;
+    }
+
+    /**
+     * Removes a user's notifications, live and archived, with one DELETE each. Call before deleting
+     * the user so the cascade over User.notifications finds nothing to load row by row.
+     */
+    @Transactional
+    public void deleteAllFor(Long userId) {
+        notificationRepository.deleteByUserId(userId);
+        archivedNotificationRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * One page of the user's notifications, newest first; pass a null cursor for the newest.
+     */
+    public NotificationPage page(User user, FeedCursor before) {
+        // One extra row tells whether older notifications exist
+        Limit limit = Limit.of(PAGE_SIZE + 1);
+        List<NotificationRow> rows = (before == null)
+                ? notificationRepository.findLatest(user.getId(), limit)
+                : notificationRepository.findBefore(user.getId(), before.createdAt(), before.id(), limit);
+        String olderCursor = null;
+        if (rows.size() > PAGE_SIZE) {
+            rows = rows.subList(0, PAGE_SIZE);
+            NotificationRow last = rows.get(rows.size() - 1);
+            olderCursor = new FeedCursor(last.createdAt(), last.id()).encode();
+        }
+        return new NotificationPage(notificationRenderer.render(rows), olderCursor);
+    }
+
+    /**
+     * The user's newest notifications, for the navbar.
+     */
+    public List<NotificationItem> latest(Long userId, int limit) {
+        return notificationRenderer.render(notificationRepository.findLatest(userId, Limit.of(limit)));
+    }
+}
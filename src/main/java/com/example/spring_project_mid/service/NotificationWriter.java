@@ -0,0 +1,208 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.NotificationDraft;
+import com.example.spring_project_mid.event.NotificationsChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Persists notifications off the request thread. Drafts go into a bounded queue once the caller's
+ * transaction has committed (so a rolled-back like or comment never notifies anyone), and a single
+ * writer thread inserts them in JDBC batches. When the queue is full the caller inserts its own
+ * drafts, which slows producers down instead of dropping notifications. The queue is drained on
+ * shutdown.
+ * <p>
+ * Drafts of a coalescing type are upserted into one row per recipient, group key and coalescing
+ * window. The merge happens inside PostgreSQL's INSERT ... ON CONFLICT, which locks the existing
+ * row, so concurrent writers never lose an actor. The merged row moves to the top and becomes
+ * unread again. Rows hold ids only; their text is rendered when they are read.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class NotificationWriter {
+
+    static final int BATCH_SIZE = 100;
+
+    // Actor ids kept on a coalesced row to recognise repeat actors
+    static final int LATEST_ACTORS = 3;
+
+    private static final String INSERT =
+            "INSERT INTO notifications (user_id, type, actor_id, post_id, is_read, created_at) VALUES (?, ?, ?, ?, false, ?)";
+
+    // Someone already among the latest actors (e.g. liking again) is not counted twice
+    private static final String UPSERT = "INSERT INTO notifications AS n "
+            + "(user_id, type, actor_id, post_id, is_read, created_at, group_key, group_window, actor_count, actor_ids) "
+            + "VALUES (?, ?, ?, ?, false, ?, ?, ?, 1, ARRAY[?::bigint]) "
+            + "ON CONFLICT (user_id, group_key, group_window) DO UPDATE SET "
+            + "actor_count = n.actor_count + CASE WHEN EXCLUDED.actor_id = ANY(n.actor_ids) THEN 0 ELSE 1 END, "
+            + "actor_ids = (EXCLUDED.actor_ids || array_remove(n.actor_ids, EXCLUDED.actor_id))[1:" + LATEST_ACTORS + "], "
+            + "actor_id = EXCLUDED.actor_id, is_read = false, created_at = EXCLUDED.created_at";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${notifications.queue.capacity:10000}")
+    private int capacity;
+
+    @Value("${notifications.coalesce-window:PT1H}")
+    private Duration coalesceWindow;
+
+    private BlockingQueue<NotificationDraft> queue;
+    private TransactionTemplate transaction;
+    private Thread writer;
+    private volatile boolean running;
+
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(capacity);
+        // Own transaction even when called from a producer's afterCommit, where the old one is still bound
+        transaction = new TransactionTemplate(transactionManager);
+        transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        running = true;
+        writer = new Thread(this::drain, "notification-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(30));
+        // Whatever a late producer slipped in after the writer exited
+        List<NotificationDraft> rest = new ArrayList<>();
+        queue.drainTo(rest);
+        for (int from = 0; from < rest.size(); from += BATCH_SIZE) {
+            write(rest.subList(from, Math.min(from + BATCH_SIZE, rest.size())));
+        }
+    }
+
+    /**
+     * Queues the drafts, after the current transaction commits if there is one.
+     */
+    public void enqueue(List<NotificationDraft> drafts) {
+        if (drafts.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<NotificationDraft> pending = List.copyOf(drafts);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    offer(pending);
+                }
+            });
+        } else {
+            offer(drafts);
+        }
+    }
+
+    private void offer(List<NotificationDraft> drafts) {
+        List<NotificationDraft> overflow = new ArrayList<>();
+        for (NotificationDraft draft : drafts) {
+            if (!running || !queue.offer(draft)) {
+                overflow.add(draft);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            write(overflow);
+        }
+    }
+
+    private void drain() {
+        List<NotificationDraft> batch = new ArrayList<>(BATCH_SIZE);
+        while (running || !queue.isEmpty()) {
+            try {
+                NotificationDraft first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, BATCH_SIZE - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Dropping {} notifications", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<NotificationDraft> drafts) {
+        List<NotificationDraft> written = drafts;
+        try {
+            // Both batches commit together, so the retry below never inserts a draft twice
+            transaction.executeWithoutResult(status -> insert(drafts));
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a recipient deleted meanwhile) fails the whole batch; retry row by row
+            written = new ArrayList<>(drafts.size());
+            for (NotificationDraft draft : drafts) {
+                try {
+                    transaction.executeWithoutResult(status -> insert(List.of(draft)));
+                    written.add(draft);
+                } catch (DataAccessException rowFailure) {
+                    log.warn("Could not save notification for user {}: {}", draft.userId(), rowFailure.getMessage());
+                }
+            }
+        }
+        // During shutdown nothing is left to refresh, and listener beans may already be gone
+        if (running) {
+            new LinkedHashSet<>(written.stream().map(NotificationDraft::userId).toList())
+                    .forEach(userId -> eventPublisher.publishEvent(new NotificationsChangedEvent(userId)));
+        }
+    }
+
+    private void insert(List<NotificationDraft> drafts) {
+        Map<Boolean, List<NotificationDraft>> byCoalescing = drafts.stream()
+                .collect(Collectors.partitioningBy(draft -> draft.type().isCoalescing()));
+        if (!byCoalescing.get(false).isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT, byCoalescing.get(false), BATCH_SIZE, (statement, draft) -> {
+                statement.setLong(1, draft.userId());
+                statement.setString(2, draft.type().name());
+                statement.setObject(3, draft.actorId(), Types.BIGINT);
+                statement.setObject(4, draft.postId(), Types.BIGINT);
+                statement.setTimestamp(5, Timestamp.valueOf(draft.createdAt()));
+            });
+        }
+        if (!byCoalescing.get(true).isEmpty()) {
+            // Fixed windows keep the conflict target a plain unique key
+            long windowSeconds = Math.max(1, coalesceWindow.toSeconds());
+            jdbcTemplate.batchUpdate(UPSERT, byCoalescing.get(true), BATCH_SIZE, (statement, draft) -> {
+                statement.setLong(1, draft.userId());
+                statement.setString(2, draft.type().name());
+                statement.setLong(3, draft.actorId());
+                statement.setObject(4, draft.postId(), Types.BIGINT);
+                statement.setTimestamp(5, Timestamp.valueOf(draft.createdAt()));
+                statement.setString(6, draft.groupKey());
+                statement.setLong(7, draft.createdAt().toEpochSecond(ZoneOffset.UTC) / windowSeconds);
+                statement.setLong(8, draft.actorId());
+            });
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.CacheStats;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the rendered HTML of the viewer-independent part of a post card (title, gallery, text),
+ * i.e. the {@code content} fragment of fragments/post-card.html. Entries are keyed by post id and
+ * only reused while the post's updatedAt still matches. Author line, counters and the liked/saved
+ * buttons stay in the page template, so likes and saves never invalidate an entry.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostCardCache {
+
+    private static final String TEMPLATE = "fragments/post-card";
+    private static final Set<String> FRAGMENT = Set.of("content");
+
+    private final SpringTemplateEngine templateEngine;
+
+    @Value("${feed.cache.card-size:2000}")
+    private int capacity;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private Map<Long, CachedCard> entries;
+
+    private record CachedCard(LocalDateTime updatedAt, String html) {
+    }
+
+    @PostConstruct
+    void init() {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedCard> eldest) {
+                if (size() > capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Returns the rendered card content of each post, keyed by post id, rendering only the misses.
+     */
+    public Map<Long, String> contents(Collection<PostSummary> posts) {
+        Map<Long, String> html = new HashMap<>();
+        for (PostSummary post : posts) {
+            if (html.containsKey(post.id())) {
+                continue;
+            }
+            CachedCard cached = entries.get(post.id());
+            if (cached != null && Objects.equals(cached.updatedAt(), post.updatedAt())) {
+                hits.incrementAndGet();
+                html.put(post.id(), cached.html());
+            } else {
+                misses.incrementAndGet();
+                String rendered = render(post);
+                entries.put(post.id(), new CachedCard(post.updatedAt(), rendered));
+                html.put(post.id(), rendered);
+            }
+        }
+        return html;
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), capacity);
+    }
+
+    /**
+     * Edits can change images without touching the post row, so drop the entry instead of
+     * relying on updatedAt alone.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.type()) {
+            case UPDATED, SUSPENDED, UNSUSPENDED, DELETED -> entries.remove(event.postId());
+            default -> {
+            }
+        }
+    }
+
+    private String render(PostSummary post) {
+        Context context = new Context(LocaleContextHolder.getLocale(), Map.of("post", post));
+        return templateEngine.process(TEMPLATE, FRAGMENT, context);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PostCounterReconciler {
+
+    private final PostRepository postRepository;
+
+    /**
+     * Recomputes the like/comment/save counters of every post whose stored value no longer
+     * matches its child rows. Runs once at startup (which also backfills existing posts)
+     * and then on the configured schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${posts.counters.reconcile-cron:0 0 4 * * *}")
+    public void reconcile() {
+        int repaired = postRepository.reconcileCounters();
+        if (repaired > 0) {
+            log.info("Repaired like/comment/save counters on {} posts", repaired);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.*;
+import com.example.spring_project_mid.repository.CommentRepository;
+import com.example.spring_project_mid.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+@RequiredArgsConstructor
+public class PostDetailService {
+
+    public static final int COMMENT_PAGE_SIZE = 20;
+
+    private final PostRepository postRepository;
+    private final CommentRepository commentRepository;
+    private final PostSummaryService postSummaryService;
+
+    /**
+     * Loads the post details page in at most four queries, however large the thread: the post
+     * with its author, its images, one page of root comments with their authors, and the replies
+     * below the roots on that page (with authors). The comment tree and reply counts are assembled in memory.
+     * Pass a null cursor for the newest root comments.
+     */
+    public PostDetails load(Long postId, FeedCursor commentsBefore) {
+        PostSummary post = postRepository.findSummariesByIdIn(List.of(postId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new RuntimeException("Post not found"));
+        post = postSummaryService.withImages(List.of(post)).get(0);
+
+        // One extra row tells whether older comments exist
+        Limit limit = Limit.of(COMMENT_PAGE_SIZE + 1);
+        List<CommentView> roots = (commentsBefore == null)
+                ? commentRepository.findRootViews(postId, limit)
+                : commentRepository.findRootViewsBefore(postId, commentsBefore.createdAt(), commentsBefore.id(), limit);
+        if (roots.isEmpty()) {
+            return new PostDetails(post, List.of(), null);
+        }
+
+        String olderCursor = null;
+        if (roots.size() > COMMENT_PAGE_SIZE) {
+            roots = roots.subList(0, COMMENT_PAGE_SIZE);
+            CommentView last = roots.get(roots.size() - 1);
+            olderCursor = new FeedCursor(last.createdAt(), last.id()).encode();
+        }
+
+        List<Long> rootIds = roots.stream().map(CommentView::id).toList();
+        Map<Long, List<CommentView>> repliesByParent = new HashMap<>();
+        for (CommentView reply : commentRepository.findReplyViewsBelow(rootIds)) {
+            repliesByParent.computeIfAbsent(reply.parentId(), id -> new ArrayList<>()).add(reply);
+        }
+
+        List<CommentThread> threads = roots.stream().map(root -> thread(root, repliesByParent)).toList();
+        return new PostDetails(post, threads, olderCursor);
+    }
+
+    private static CommentThread thread(CommentView comment, Map<Long, List<CommentView>> repliesByParent) {
+        List<CommentThread> replies = repliesByParent.getOrDefault(comment.id(), List.of()).stream()
+                .map(reply -> thread(reply, repliesByParent))
+                .toList();
+        int replyCount = replies.size() + replies.stream().mapToInt(CommentThread::replyCount).sum();
+        return new CommentThread(comment, replies, replyCount);
+    }
+}
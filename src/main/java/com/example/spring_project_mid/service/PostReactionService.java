@@ -0,0 +1,91 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.NotificationDraft;
+import com.example.spring_project_mid.dto.ReactionState;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.NotificationType;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Likes and saves as idempotent set operations. Each change is a single statement that inserts
+ * (ON CONFLICT DO NOTHING) or deletes the viewer's row and moves the post's counter by the number
+ * of rows it actually touched, returning the new total. Double clicks, retries and concurrent
+ * requests therefore never hit the (post_id, user_id) unique key, never skew the counter and never
+ * notify twice.
+ */
+@Service
+@RequiredArgsConstructor
+public class PostReactionService {
+
+    // Each statement returns the post owner, the new counter value and how many rows it inserted or deleted
+    private static final String LIKE = "WITH changed AS (INSERT INTO votes (post_id, user_id, vote_type, created_at) "
+            + "SELECT id, ?, 1, ? FROM posts WHERE id = ? ON CONFLICT (post_id, user_id) DO NOTHING RETURNING post_id) "
+            + "UPDATE posts SET like_count = like_count + (SELECT count(*) FROM changed) WHERE id = ? "
+            + "RETURNING user_id, like_count, (SELECT count(*) FROM changed)";
+
+    private static final String UNLIKE = "WITH changed AS (DELETE FROM votes WHERE post_id = ? AND user_id = ? RETURNING post_id) "
+            + "UPDATE posts SET like_count = like_count - (SELECT count(*) FROM changed) WHERE id = ? "
+            + "RETURNING user_id, like_count, (SELECT count(*) FROM changed)";
+
+    // Nobody bookmarks their own post
+    private static final String SAVE = "WITH changed AS (INSERT INTO saved_posts (post_id, user_id, created_at) "
+            + "SELECT id, ?, ? FROM posts WHERE id = ? AND user_id <> ? ON CONFLICT (post_id, user_id) DO NOTHING RETURNING post_id) "
+            + "UPDATE posts SET save_count = save_count + (SELECT count(*) FROM changed) WHERE id = ? "
+            + "RETURNING user_id, save_count, (SELECT count(*) FROM changed)";
+
+    private static final String UNSAVE = "WITH changed AS (DELETE FROM saved_posts WHERE post_id = ? AND user_id = ? RETURNING post_id) "
+            + "UPDATE posts SET save_count = save_count - (SELECT count(*) FROM changed) WHERE id = ? "
+            + "RETURNING user_id, save_count, (SELECT count(*) FROM changed)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private record Change(Long ownerId, int count, boolean changed) {
+    }
+
+    public ReactionState setLiked(Long postId, User user, boolean liked) {
+        Change change = liked
+                ? execute(LIKE, user.getId(), Timestamp.valueOf(LocalDateTime.now()), postId, postId)
+                : execute(UNLIKE, postId, user.getId(), postId);
+        if (change.changed()) {
+            publish(postId, change.ownerId(), user, liked ? PostChangedEvent.Type.LIKED : PostChangedEvent.Type.UNLIKED);
+            if (liked && !change.ownerId().equals(user.getId())) {
+                notificationService.notifyAll(List.of(
+                        new NotificationDraft(change.ownerId(), NotificationType.POST_LIKED, user.getId(), postId)));
+            }
+        }
+        return new ReactionState(liked, change.count());
+    }
+
+    public ReactionState setSaved(Long postId, User user, boolean saved) {
+        Change change = saved
+                ? execute(SAVE, user.getId(), Timestamp.valueOf(LocalDateTime.now()), postId, user.getId(), postId)
+                : execute(UNSAVE, postId, user.getId(), postId);
+        if (change.changed()) {
+            publish(postId, change.ownerId(), user, saved ? PostChangedEvent.Type.SAVED : PostChangedEvent.Type.UNSAVED);
+        }
+        return new ReactionState(saved && !change.ownerId().equals(user.getId()), change.count());
+    }
+
+    private Change execute(String sql, Object... args) {
+        List<Change> rows = jdbcTemplate.query(sql,
+                (rs, rowNum) -> new Change(rs.getLong(1), rs.getInt(2), rs.getLong(3) > 0), args);
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Post not found");
+        }
+        return rows.get(0);
+    }
+
+    private void publish(Long postId, Long ownerId, User actor, PostChangedEvent.Type type) {
+        eventPublisher.publishEvent(new PostChangedEvent(postId, ownerId, actor.getId(), type));
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.FeedPage;
+import com.example.spring_project_mid.dto.PostSearchDocument;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.model.Post;
+import com.example.spring_project_mid.model.PostSearchTerm;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.PostSearchTermRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Full-text search over posts, backed by an inverted index (post_search_terms) of stemmed terms.
+ *
+ * <p>Each (term, post) row carries a weight: 3 if the term is in the title, 2 if it is in the
+ * author's name, plus one per occurrence in the text, capped at 3 so long posts cannot win by
+ * repetition alone. Results are ranked by how many of the query terms a post contains, then by
+ * the summed weights. Suspended posts are not indexed.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PostSearchService {
+
+    public static final int PAGE_SIZE = FeedService.PAGE_SIZE;
+
+    private static final int TITLE_WEIGHT = 3;
+    private static final int AUTHOR_WEIGHT = 2;
+    private static final int MAX_CONTENT_WEIGHT = 3;
+
+    // Longer queries add little and only widen the IN list
+    private static final int MAX_QUERY_TERMS = 10;
+
+    static final int INDEX_BATCH = 500;
+
+    private final PostRepository postRepository;
+    private final PostSearchTermRepository postSearchTermRepository;
+    private final PostSummaryCache postSummaryCache;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * Returns one page of posts matching the query, best match first. The next cursor is the
+     * number of the following page.
+     */
+    @Transactional(readOnly = true)
+    public FeedPage search(String query, int page) {
+        List<String> terms = SearchTokenizer.terms(query).stream().distinct().limit(MAX_QUERY_TERMS).toList();
+        if (terms.isEmpty()) {
+            return new FeedPage(List.of(), null);
+        }
+        Slice<Long> ids = postSearchTermRepository.searchPostIds(terms, PageRequest.of(Math.max(page, 0), PAGE_SIZE));
+        return new FeedPage(postSummaryCache.getAll(ids.getContent()),
+                ids.hasNext() ? String.valueOf(ids.getNumber() + 1) : null);
+    }
+
+    /**
+     * Replaces the index rows of a post with its current text, or just drops them when the post
+     * is suspended or gone.
+     */
+    @Transactional
+    public void reindex(Long postId) {
+        postSearchTermRepository.deleteByPostId(postId);
+        postRepository.findSearchDocument(postId)
+                .filter(document -> !document.suspended())
+                .ifPresent(document -> {
+                    postSearchTermRepository.saveAll(terms(document));
+                    postRepository.markSearchIndexed(postId, LocalDateTime.now());
+                });
+    }
+
+    /**
+     * The author's name is part of every post they wrote, so a rename reindexes all of them.
+     */
+    @Transactional
+    public void reindexAuthor(Long userId) {
+        postRepository.findIdsByUser(userId).forEach(this::reindex);
+    }
+
+    /**
+     * Indexes visible posts that were never indexed; on the first start this builds the whole index.
+     * Runs in batches of {@value #INDEX_BATCH} posts, each committed on its own.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void indexMissing() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long after = 0;
+        int total = 0;
+        List<Long> ids;
+        do {
+            ids = postSearchTermRepository.findUnindexedPostIds(after, Limit.of(INDEX_BATCH));
+            List<Long> batch = ids;
+            transaction.executeWithoutResult(status -> batch.forEach(this::reindex));
+            total += ids.size();
+            if (!ids.isEmpty()) {
+                after = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == INDEX_BATCH);
+        if (total > 0) {
+            log.info("Added {} posts to the search index", total);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED, SUSPENDED, UNSUSPENDED -> reindex(event.postId());
+            case DELETED -> postSearchTermRepository.deleteByPostId(event.postId());
+            default -> {
+            }
+        }
+    }
+
+    private List<PostSearchTerm> terms(PostSearchDocument document) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String term : SearchTokenizer.terms(document.content())) {
+            weights.merge(term, 1, (a, b) -> Math.min(a + b, MAX_CONTENT_WEIGHT));
+        }
+        for (String term : new HashSet<>(SearchTokenizer.terms(document.title()))) {
+            weights.merge(term, TITLE_WEIGHT, Integer::sum);
+        }
+        Set<String> authorTerms = new HashSet<>(SearchTokenizer.terms(document.authorUsername()));
+        authorTerms.addAll(SearchTokenizer.terms(document.authorDisplayName()));
+        for (String term : authorTerms) {
+            weights.merge(term, AUTHOR_WEIGHT, Integer::sum);
+        }
+
+        Post post = postRepository.getReferenceById(document.id());
+        return weights.entrySet().stream()
+                .map(entry -> PostSearchTerm.builder().term(entry.getKey()).post(post).weight(entry.getValue()).build())
+                .toList();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.CacheStats;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded LRU cache of post cards keyed by post id. Entries are dropped when their post changes
+ * and expire after a TTL, which bounds staleness of data we get no event for (e.g. author profile edits).
+ */
+@Service
+@RequiredArgsConstructor
+public class PostSummaryCache {
+
+    private final PostRepository postRepository;
+    private final PostSummaryService postSummaryService;
+
+    @Value("${feed.cache.summary-size:5000}")
+    private int capacity;
+
+    @Value("${feed.cache.summary-ttl:PT10M}")
+    private Duration ttl;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private Map<Long, CachedSummary> entries;
+
+    private record CachedSummary(PostSummary summary, long loadedAt) {
+    }
+
+    @PostConstruct
+    void init() {
+        entries = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedSummary> eldest) {
+                if (size() > capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        });
+    }
+
+    /**
+     * Returns the summaries of the given posts in the same order, loading all misses in one round trip.
+     * Posts that no longer exist are left out.
+     */
+    public List<PostSummary> getAll(List<Long> ids) {
+        Map<Long, PostSummary> found = new HashMap<>();
+        List<Long> missing = new ArrayList<>();
+        long now = System.currentTimeMillis();
+        for (Long id : ids) {
+            CachedSummary cached = entries.get(id);
+            if (cached != null && now - cached.loadedAt() < ttl.toMillis()) {
+                found.put(id, cached.summary());
+            } else {
+                missing.add(id);
+            }
+        }
+        hits.addAndGet(found.size());
+        misses.addAndGet(missing.size());
+
+        if (!missing.isEmpty()) {
+            for (PostSummary summary : load(missing)) {
+                found.put(summary.id(), summary);
+            }
+        }
+
+        List<PostSummary> result = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            PostSummary summary = found.get(id);
+            if (summary != null) {
+                result.add(summary);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Adds summaries that were loaded elsewhere (e.g. by a feed page read from the database).
+     */
+    public void putAll(Collection<PostSummary> summaries) {
+        long now = System.currentTimeMillis();
+        for (PostSummary summary : summaries) {
+            entries.put(summary.id(), new CachedSummary(summary, now));
+        }
+    }
+
+    public void evict(Long postId) {
+        entries.remove(postId);
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), entries.size(), capacity);
+    }
+
+    /**
+     * Any committed change to a post (content, visibility or one of its counters) invalidates its card.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evict(event.postId());
+    }
+
+    private List<PostSummary> load(List<Long> ids) {
+        List<PostSummary> loaded = postSummaryService.withImages(postRepository.findSummariesByIdIn(ids));
+        putAll(loaded);
+        return loaded;
+    }
+}
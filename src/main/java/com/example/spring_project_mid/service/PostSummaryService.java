@@ -0,0 +1,34 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.PostImageUrl;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class PostSummaryService {
+
+    private final PostRepository postRepository;
+
+    /**
+     * Returns the same summaries with their image URLs filled in, using one query for the whole list.
+     */
+    public List<PostSummary> withImages(List<PostSummary> posts) {
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        List<Long> ids = posts.stream().map(PostSummary::id).distinct().toList();
+        Map<Long, List<String>> urlsByPost = postRepository.findImageUrls(ids).stream()
+                .collect(Collectors.groupingBy(PostImageUrl::postId,
+                        Collectors.mapping(PostImageUrl::url, Collectors.toList())));
+        return posts.stream()
+                .map(post -> post.withImageUrls(urlsByPost.getOrDefault(post.id(), List.of())))
+                .toList();
+    }
+}
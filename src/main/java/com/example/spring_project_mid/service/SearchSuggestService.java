@@ -0,0 +1,129 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.AuthorSummary;
+import com.example.spring_project_mid.dto.PostTitle;
+import com.example.spring_project_mid.dto.Suggestion;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.event.UsersChangedEvent;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Navbar search autocomplete over usernames, display names and post titles, answered from an
+ * in-memory {@link SuggestionTrie} without touching the database. Built at startup from enabled
+ * users and visible posts, then kept current by post events and by {@link #userChanged(Long)}.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class SearchSuggestService {
+
+    public static final int LIMIT = 10;
+
+    private final UserRepository userRepository;
+    private final PostRepository postRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final SuggestionTrie trie = new SuggestionTrie(LIMIT);
+
+    public List<Suggestion> suggest(String query) {
+        String prefix = query == null ? "" : query.strip();
+        if (prefix.startsWith("@")) {
+            prefix = prefix.substring(1);
+        }
+        lock.readLock().lock();
+        try {
+            return trie.suggest(prefix);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        List<AuthorSummary> users = userRepository.findEnabledAuthors();
+        List<PostTitle> posts = postRepository.findVisibleTitles();
+        lock.writeLock().lock();
+        try {
+            users.forEach(this::putUser);
+            posts.forEach(post -> trie.put(Suggestion.post(post.id(), post.title()), post.title()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Search suggestions loaded for {} users and {} posts", users.size(), posts.size());
+    }
+
+    /**
+     * Re-reads one user after registration, a profile edit, a status change or deletion.
+     * Only enabled accounts are suggested.
+     */
+    public void userChanged(Long userId) {
+        User user = userRepository.findById(userId).filter(User::isEnabled).orElse(null);
+        lock.writeLock().lock();
+        try {
+            if (user == null) {
+                trie.remove("user", userId);
+            } else {
+                putUser(new AuthorSummary(user.getId(), user.getUsername(), user.getDisplayName(), user.getAvatarUrl()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Same as {@link #userChanged(Long)} for many users at once, reading them in one query.
+     */
+    public void usersChanged(Collection<Long> userIds) {
+        List<AuthorSummary> enabled = userRepository.findEnabledAuthorsByIdIn(userIds);
+        lock.writeLock().lock();
+        try {
+            userIds.forEach(userId -> trie.remove("user", userId));
+            enabled.forEach(this::putUser);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUsersChanged(UsersChangedEvent event) {
+        usersChanged(event.userIds());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UPDATED, UNSUSPENDED -> postRepository.findSearchDocument(event.postId())
+                    .filter(post -> !post.suspended())
+                    .ifPresent(post -> write(() -> trie.put(Suggestion.post(post.id(), post.title()), post.title())));
+            case SUSPENDED, DELETED -> write(() -> trie.remove("post", event.postId()));
+            default -> {
+            }
+        }
+    }
+
+    private void putUser(AuthorSummary user) {
+        trie.put(Suggestion.user(user.id(), user.username(), user.displayName()), user.username(), user.displayName());
+    }
+
+    private void write(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            change.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.spring_project_mid.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into search terms. Posts and queries go through the same steps, so they always
+ * agree on the terms: lower-case, split on anything that is not a letter, digit or combining
+ * mark (Khmer vowel signs are marks, not letters), drop single letters and common English stop
+ * words, and stem.
+ */
+public final class SearchTokenizer {
+
+    static final int MAX_TERM_LENGTH = 64;
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "but", "by", "for", "from", "has", "have",
+            "in", "into", "is", "it", "its", "of", "on", "or", "that", "the", "their", "this",
+            "to", "was", "were", "will", "with");
+
+    private SearchTokenizer() {
+    }
+
+    /**
+     * Returns the terms of the text in order of appearance, repeats included.
+     */
+    public static List<String> terms(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < lower.length(); ) {
+            int codePoint = lower.codePointAt(i);
+            if (isWordChar(codePoint)) {
+                word.appendCodePoint(codePoint);
+            } else {
+                addTerm(terms, word);
+            }
+            i += Character.charCount(codePoint);
+        }
+        addTerm(terms, word);
+        return terms;
+    }
+
+    /**
+     * Light English suffix stripping: plurals, -ing, -ed, -ly and a final e, so that "events",
+     * "eventing" and "event" or "create", "creates", "created" and "creating" meet. Words that are
+     * not plain ASCII letters are kept as they are.
+     */
+    static String stem(String word) {
+        if (word.length() <= 3 || !word.chars().allMatch(c -> c >= 'a' && c <= 'z')) {
+            return word;
+        }
+        String w = word;
+        if (w.endsWith("ies") && w.length() > 4) {
+            w = w.substring(0, w.length() - 3) + "y";
+        } else if (w.endsWith("sses")) {
+            w = w.substring(0, w.length() - 2);
+        } else if (w.endsWith("s") && !w.endsWith("ss") && !w.endsWith("us") && !w.endsWith("is")) {
+            w = w.substring(0, w.length() - 1);
+        }
+
+        if (w.endsWith("ing") && w.length() - 3 >= 3) {
+            w = undouble(w.substring(0, w.length() - 3));
+        } else if (w.endsWith("ed") && w.length() - 2 >= 3) {
+            w = undouble(w.substring(0, w.length() - 2));
+        } else if (w.endsWith("ly") && w.length() - 2 >= 3) {
+            w = w.substring(0, w.length() - 2);
+        }
+
+        if (w.endsWith("e") && w.length() - 1 >= 3) {
+            w = w.substring(0, w.length() - 1);
+        }
+        return w;
+    }
+
+    private static void addTerm(List<String> terms, StringBuilder word) {
+        // Single letters are noise, but a lone digit ("room 7") is worth keeping
+        boolean keep = word.length() >= 2 || (word.length() == 1 && Character.isDigit(word.charAt(0)));
+        if (keep && !STOP_WORDS.contains(word.toString())) {
+            String term = stem(word.toString());
+            terms.add(term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH) : term);
+        }
+        word.setLength(0);
+    }
+
+    // "running" -> "runn" -> "run", but keep "ll", "ss" and "zz" ("calling" -> "call")
+    private static String undouble(String w) {
+        int n = w.length();
+        if (n >= 2 && w.charAt(n - 1) == w.charAt(n - 2) && "lsz".indexOf(w.charAt(n - 1)) < 0) {
+            return w.substring(0, n - 1);
+        }
+        return w;
+    }
+
+    private static boolean isWordChar(int codePoint) {
+        int type = Character.getType(codePoint);
+        return Character.isLetterOrDigit(codePoint)
+                || type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK;
+    }
+}
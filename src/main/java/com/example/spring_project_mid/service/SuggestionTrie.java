@@ -0,0 +1,243 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.Suggestion;
+
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Compressed prefix (radix) trie from lower-cased names and titles to suggestions. Every node
+ * keeps the best users and the best posts found anywhere below it, so a lookup only walks the
+ * characters of the prefix and returns lists that are already ranked. Updates re-rank the nodes
+ * on the changed path. Not thread-safe; SearchSuggestService guards it.
+ */
+class SuggestionTrie {
+
+    // Shorter usernames first (closest to what was typed); newest posts first
+    private static final Comparator<Suggestion> USER_ORDER = Comparator
+            .comparingInt((Suggestion s) -> s.detail().length())
+            .thenComparing(Suggestion::detail);
+    private static final Comparator<Suggestion> POST_ORDER = Comparator
+            .comparing(Suggestion::id, Comparator.reverseOrder());
+
+    private static final int MAX_KEY_LENGTH = 100;
+    private static final int MAX_WORD_KEYS = 8;
+
+    private final int limit;
+    private final Node root = new Node("");
+    private final Map<String, Indexed> byEntity = new HashMap<>();
+
+    private static final class Node {
+        String edge;
+        final Map<Character, Node> children = new HashMap<>(4);
+        final Set<Suggestion> values = new HashSet<>(2);
+        List<Suggestion> users = List.of();
+        List<Suggestion> posts = List.of();
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+    }
+
+    private record Indexed(Suggestion suggestion, Set<String> keys) {
+    }
+
+    SuggestionTrie(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * Adds or replaces the suggestion for its (type, id), reachable from the start of each text
+     * and of every later word in it.
+     */
+    void put(Suggestion suggestion, String... texts) {
+        remove(suggestion.type(), suggestion.id());
+        Set<String> keys = new LinkedHashSet<>();
+        for (String text : texts) {
+            keys.addAll(keys(text));
+        }
+        for (String key : keys) {
+            insert(key, suggestion);
+        }
+        byEntity.put(entityKey(suggestion.type(), suggestion.id()), new Indexed(suggestion, keys));
+    }
+
+    void remove(String type, Long id) {
+        Indexed indexed = byEntity.remove(entityKey(type, id));
+        if (indexed != null) {
+            indexed.keys().forEach(key -> delete(key, indexed.suggestion()));
+        }
+    }
+
+    int size() {
+        return byEntity.size();
+    }
+
+    /**
+     * Best users and best posts whose name or title has a word starting with the prefix,
+     * at most {@code limit} in total. Users get at most half the slots when there are enough posts.
+     */
+    List<Suggestion> suggest(String prefix) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                return List.of();
+            }
+            int common = commonPrefix(child.edge, key, i);
+            if (i + common == key.length()) {
+                node = child;
+                break;
+            }
+            if (common < child.edge.length()) {
+                return List.of();
+            }
+            i += common;
+            node = child;
+        }
+        int users = Math.min(node.users.size(), Math.max(limit / 2, limit - node.posts.size()));
+        int posts = Math.min(node.posts.size(), limit - users);
+        return Stream.concat(node.users.stream().limit(users), node.posts.stream().limit(posts)).toList();
+    }
+
+    private void insert(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            char c = key.charAt(i);
+            Node child = node.children.get(c);
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(c, child);
+                i = key.length();
+            } else {
+                int common = commonPrefix(child.edge, key, i);
+                if (common < child.edge.length()) {
+                    // Split the edge: node -> middle (shared part) -> child (rest)
+                    Node middle = new Node(child.edge.substring(0, common));
+                    child.edge = child.edge.substring(common);
+                    middle.children.put(child.edge.charAt(0), child);
+                    node.children.put(c, middle);
+                    middle.users = child.users;
+                    middle.posts = child.posts;
+                    child = middle;
+                }
+                i += common;
+            }
+            node = child;
+            path.add(node);
+        }
+        node.values.add(suggestion);
+        rerank(path);
+    }
+
+    private void delete(String key, Suggestion suggestion) {
+        List<Node> path = new ArrayList<>();
+        Node node = root;
+        path.add(node);
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return;
+            }
+            i += child.edge.length();
+            node = child;
+            path.add(node);
+        }
+        if (!node.values.remove(suggestion)) {
+            return;
+        }
+
+        // Drop nodes that became empty and fold chains of single children back into one edge
+        for (int depth = path.size() - 1; depth > 0; depth--) {
+            Node current = path.get(depth);
+            Node parent = path.get(depth - 1);
+            if (!current.values.isEmpty()) {
+                continue;
+            }
+            if (current.children.isEmpty()) {
+                parent.children.remove(current.edge.charAt(0));
+            } else if (current.children.size() == 1) {
+                Node only = current.children.values().iterator().next();
+                only.edge = current.edge + only.edge;
+                parent.children.put(only.edge.charAt(0), only);
+            }
+        }
+        rerank(path);
+    }
+
+    // Bottom-up, so every node sees its children's updated lists
+    private void rerank(List<Node> path) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            List<Suggestion> users = new ArrayList<>();
+            List<Suggestion> posts = new ArrayList<>();
+            for (Suggestion value : node.values) {
+                ("user".equals(value.type()) ? users : posts).add(value);
+            }
+            for (Node child : node.children.values()) {
+                users.addAll(child.users);
+                posts.addAll(child.posts);
+            }
+            node.users = best(users, USER_ORDER);
+            node.posts = best(posts, POST_ORDER);
+        }
+    }
+
+    private List<Suggestion> best(List<Suggestion> candidates, Comparator<Suggestion> order) {
+        // The same entity can arrive through several keys (e.g. two words of one title)
+        return candidates.stream().distinct().sorted(order).limit(limit).toList();
+    }
+
+    // The whole text plus the text from each later word on, so "Sokha Chan" is found by "cha"
+    private static Set<String> keys(String text) {
+        Set<String> keys = new LinkedHashSet<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(truncate(normalized));
+        int from = 0;
+        while (keys.size() <= MAX_WORD_KEYS) {
+            int space = normalized.indexOf(' ', from);
+            if (space < 0) {
+                break;
+            }
+            keys.add(truncate(normalized.substring(space + 1)));
+            from = space + 1;
+        }
+        return keys;
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int n = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < n && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static String entityKey(String type, Long id) {
+        return type + ":" + id;
+    }
+}
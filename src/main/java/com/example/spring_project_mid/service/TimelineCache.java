@@ -0,0 +1,228 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.CacheStats;
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.TimelineEntry;
+import com.example.spring_project_mid.event.PostChangedEvent;
+import com.example.spring_project_mid.repository.PostRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Ring buffer holding the (createdAt, id) keys of the newest non-suspended posts, newest first.
+ * The buffer is always an exact prefix of the global timeline, so any feed page that falls
+ * inside it can be answered without asking the database which posts come next.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class TimelineCache {
+
+    private final PostRepository postRepository;
+
+    @Value("${feed.cache.timeline-size:1000}")
+    private int capacity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    private TimelineEntry[] slots;
+    private int head;
+    private int size;
+    // False until the first load; afterwards every page request is answered or counted as a miss
+    private boolean ready;
+    // True while the buffer holds the whole timeline, i.e. nothing older exists in the database
+    private boolean complete;
+
+    @PostConstruct
+    void init() {
+        slots = new TimelineEntry[capacity];
+    }
+
+    /**
+     * Reloads the buffer from the database. Runs at startup and then periodically, which also
+     * repairs changes that bypassed the controllers (cascading user deletes, other instances).
+     * The write lock is held across the query so no event is applied to a buffer about to be replaced.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${feed.cache.timeline-refresh-ms:600000}",
+            fixedDelayString = "${feed.cache.timeline-refresh-ms:600000}")
+    public void reload() {
+        lock.writeLock().lock();
+        try {
+            List<TimelineEntry> newest = postRepository.findTimelineEntries(Limit.of(capacity));
+            head = 0;
+            size = 0;
+            for (TimelineEntry entry : newest) {
+                slots[size++] = entry;
+            }
+            complete = newest.size() < capacity;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.debug("Timeline cache loaded with {} posts", size);
+    }
+
+    /**
+     * Returns up to {@code count} entries strictly older than the cursor (or the newest ones for a null cursor),
+     * or null when the buffer cannot tell and the caller has to query the database.
+     */
+    public List<TimelineEntry> page(FeedCursor cursor, int count) {
+        lock.readLock().lock();
+        try {
+            if (ready) {
+                int start = (cursor == null) ? 0 : firstOlderThan(new TimelineEntry(cursor.id(), cursor.createdAt()));
+                int available = size - start;
+                if (available >= count || complete) {
+                    int end = start + Math.min(count, available);
+                    List<TimelineEntry> page = new ArrayList<>(end - start);
+                    for (int i = start; i < end; i++) {
+                        page.add(get(i));
+                    }
+                    hits.incrementAndGet();
+                    return page;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        misses.incrementAndGet();
+        return null;
+    }
+
+    public CacheStats stats() {
+        lock.readLock().lock();
+        try {
+            return new CacheStats(hits.get(), misses.get(), evictions.get(), size, capacity);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keeps the buffer in step with committed post changes. Counter-only changes do not move a post.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        switch (event.type()) {
+            case CREATED, UNSUSPENDED -> postRepository.findTimelineEntry(event.postId()).ifPresent(this::insert);
+            case DELETED, SUSPENDED -> remove(event.postId());
+            default -> {
+            }
+        }
+    }
+
+    void insert(TimelineEntry entry) {
+        lock.writeLock().lock();
+        try {
+            if (!ready) {
+                return;
+            }
+            removeAt(indexOf(entry.id()));
+            int index = firstOlderThan(entry);
+            // Older than everything we hold and older posts exist elsewhere: not part of our prefix
+            if (index == size && !complete) {
+                return;
+            }
+            if (size == capacity) {
+                if (index == size) {
+                    return;
+                }
+                size--;
+                complete = false;
+                evictions.incrementAndGet();
+            }
+            if (index == 0) {
+                head = Math.floorMod(head - 1, capacity);
+                slots[head] = entry;
+            } else {
+                for (int i = size; i > index; i--) {
+                    set(i, get(i - 1));
+                }
+                set(index, entry);
+            }
+            size++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeAt(indexOf(postId));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeAt(int index) {
+        if (index < 0) {
+            return;
+        }
+        if (index == 0) {
+            slots[head] = null;
+            head = (head + 1) % capacity;
+        } else {
+            for (int i = index; i < size - 1; i++) {
+                set(i, get(i + 1));
+            }
+            set(size - 1, null);
+        }
+        size--;
+    }
+
+    private int indexOf(Long postId) {
+        for (int i = 0; i < size; i++) {
+            if (get(i).id().equals(postId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // Binary search over the newest-first order for the first entry sorting after the key
+    private int firstOlderThan(TimelineEntry key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (isOlder(get(mid), key)) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+        return low;
+    }
+
+    private static boolean isOlder(TimelineEntry a, TimelineEntry b) {
+        int byTime = a.createdAt().compareTo(b.createdAt());
+        return byTime < 0 || (byTime == 0 && a.id() < b.id());
+    }
+
+    private TimelineEntry get(int index) {
+        return slots[(head + index) % capacity];
+    }
+
+    private void set(int index, TimelineEntry entry) {
+        slots[(head + index) % capacity] = entry;
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.event.NotificationsChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the unread-notification count behind the navbar badge in memory, so rendering a page no
+ * longer touches the notifications table. A count is loaded on first use and dropped once a
+ * change to that user's notifications has committed; the next page reloads it with one indexed
+ * count. Dropping instead of adjusting by +1/-1 keeps the count exact when a reload races with a
+ * change, and covers bulk inserts and mark-all-read without knowing how many rows they touched.
+ * <p>
+ * The count is read with plain JDBC: it runs for every request, including long-lived push
+ * streams, and a JPA query there would keep a pooled connection bound to the open-in-view session
+ * until the stream ends.
+ */
+@Service
+@RequiredArgsConstructor
+public class UnreadNotificationCounter {
+
+    // Served by the partial index idx_notifications_user_unread
+    private static final String COUNT_UNREAD = "SELECT COUNT(*) FROM notifications WHERE user_id = ? AND is_read = false";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${notifications.unread-cache-size:10000}")
+    private int capacity;
+
+    private Map<Long, Long> counts;
+
+    // Loads in flight; a change that commits meanwhile removes the marker so the stale result is not kept
+    private final Map<Long, Object> loading = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        counts = Collections.synchronizedMap(new LinkedHashMap<>(capacity, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+                return size() > capacity;
+            }
+        });
+    }
+
+    public long unread(Long userId) {
+        Long cached = counts.get(userId);
+        if (cached != null) {
+            return cached;
+        }
+        Object marker = new Object();
+        loading.put(userId, marker);
+        long count = jdbcTemplate.queryForObject(COUNT_UNREAD, Long.class, userId);
+        synchronized (counts) {
+            if (loading.remove(userId, marker)) {
+                counts.put(userId, count);
+            }
+        }
+        return count;
+    }
+
+    // Runs before other listeners of the event (e.g. NotificationPushService) read the new count
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsChanged(NotificationsChangedEvent event) {
+        synchronized (counts) {
+            loading.remove(event.userId());
+            counts.remove(event.userId());
+        }
+    }
+}
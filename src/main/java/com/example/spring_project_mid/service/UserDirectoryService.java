@@ -0,0 +1,129 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.UserCursor;
+import com.example.spring_project_mid.dto.UserDirectoryPage;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.Role;
+import com.example.spring_project_mid.repository.UserRepository;
+import com.example.spring_project_mid.repository.UserSpecifications;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+@Service
+@RequiredArgsConstructor
+public class UserDirectoryService {
+
+    public static final int PAGE_SIZE = 25;
+    public static final Set<String> SORT_FIELDS = Set.of("id", "username", "email", "role", "enabled");
+
+    // Beyond this many matches the page says "1000+" instead of counting every row
+    static final int COUNT_CAP = 1000;
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    /**
+     * Loads one page of the admin user list with keyset navigation on (sortField, id).
+     * Pass {@code after} for the next page or {@code before} for the previous one; neither for the first.
+     */
+    @Transactional(readOnly = true)
+    public UserDirectoryPage search(String keyword, Role role, Boolean status, String sortField, boolean ascending,
+                                    String after, String before) {
+        String field = SORT_FIELDS.contains(sortField) ? sortField : "id";
+        Specification<User> filter = Specification.allOf(
+                UserSpecifications.manageable(),
+                UserSpecifications.keyword(keyword),
+                UserSpecifications.hasRole(role),
+                UserSpecifications.hasStatus(status));
+
+        // A "previous" page is read backwards from its cursor and flipped afterwards
+        boolean backward = after == null && before != null;
+        UserCursor cursor = UserCursor.parse(backward ? before : after);
+        if (cursor != null && !fits(field, cursor)) {
+            cursor = null;
+        }
+        // Without a usable cursor this is the first page
+        backward = backward && cursor != null;
+        boolean readAscending = backward != ascending;
+
+        Specification<User> page = filter;
+        if (cursor != null) {
+            page = filter.and(beyond(field, cursor, readAscending));
+        }
+        Sort.Direction direction = readAscending ? Sort.Direction.ASC : Sort.Direction.DESC;
+        Sort sort = "id".equals(field) ? Sort.by(direction, "id") : Sort.by(direction, field, "id");
+        List<User> rows = new ArrayList<>(userRepository.findBy(page, query -> query.sortBy(sort).limit(PAGE_SIZE + 1).all()));
+
+        boolean more = rows.size() > PAGE_SIZE;
+        if (more) {
+            rows = rows.subList(0, PAGE_SIZE);
+        }
+        String previous;
+        String next;
+        if (backward) {
+            Collections.reverse(rows);
+            previous = more ? cursorOf(rows.get(0), field) : null;
+            next = rows.isEmpty() ? null : cursorOf(rows.get(rows.size() - 1), field);
+        } else {
+            previous = (cursor == null || rows.isEmpty()) ? null : cursorOf(rows.get(0), field);
+            next = more ? cursorOf(rows.get(rows.size() - 1), field) : null;
+        }
+
+        long total = countUpToCap(filter);
+        return new UserDirectoryPage(rows, previous, next, Math.min(total, COUNT_CAP), total > COUNT_CAP);
+    }
+
+    /**
+     * Counts matches, but stops reading after {@link #COUNT_CAP} + 1 ids so a broad filter over a
+     * large table costs no more than a bounded index scan.
+     */
+    private long countUpToCap(Specification<User> filter) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = cb.createQuery(Long.class);
+        Root<User> root = query.from(User.class);
+        query.select(root.get("id")).where(filter.toPredicate(root, query, cb));
+        return entityManager.createQuery(query).setMaxResults(COUNT_CAP + 1).getResultList().size();
+    }
+
+    // Whether the cursor's value can be compared with the sort column; a hand-edited one may not
+    private static boolean fits(String field, UserCursor cursor) {
+        return switch (field) {
+            case "role" -> Arrays.stream(Role.values()).anyMatch(role -> role.name().equals(cursor.value()));
+            case "enabled" -> cursor.value().equals("true") || cursor.value().equals("false");
+            default -> true;
+        };
+    }
+
+    private static Specification<User> beyond(String field, UserCursor cursor, boolean ascending) {
+        return switch (field) {
+            case "role" -> UserSpecifications.beyond(field, Role.valueOf(cursor.value()), cursor.id(), ascending);
+            case "enabled" -> UserSpecifications.beyond(field, Boolean.valueOf(cursor.value()), cursor.id(), ascending);
+            case "id" -> UserSpecifications.beyond(field, cursor.id(), cursor.id(), ascending);
+            default -> UserSpecifications.beyond(field, cursor.value(), cursor.id(), ascending);
+        };
+    }
+
+    private static String cursorOf(User user, String field) {
+        String value = switch (field) {
+            case "username" -> user.getUsername();
+            case "email" -> user.getEmail();
+            case "role" -> user.getRole().name();
+            case "enabled" -> String.valueOf(user.isEnabled());
+            default -> String.valueOf(user.getId());
+        };
+        return new UserCursor(value, user.getId()).encode();
+    }
+}
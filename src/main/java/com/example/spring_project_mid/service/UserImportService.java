@@ -0,0 +1,318 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.RegisterRequest;
+import com.example.spring_project_mid.dto.UserImportResult;
+import com.example.spring_project_mid.model.enums.Role;
+import com.example.spring_project_mid.repository.UserRepository;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Creates accounts in bulk from a CSV file with the columns username, email and password, and
+ * optionally display_name and role (STUDENT or SUB_ADMIN). The file is handled in chunks: each row
+ * is validated with the same rules as self-registration, each chunk is checked against existing
+ * usernames and emails in two queries, hashed on a bounded worker pool and inserted as one JDBC
+ * batch. Imported accounts are enabled right away (an administrator vouched for them) and get a
+ * queued welcome email instead of an inline OTP.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class UserImportService {
+
+    static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final Set<Role> IMPORTABLE_ROLES = EnumSet.of(Role.STUDENT, Role.SUB_ADMIN);
+
+    // A row that lost a race with a concurrent registration is skipped instead of failing the batch
+    private static final String INSERT = "INSERT INTO users (username, display_name, email, password, role, enabled, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, true, ?) ON CONFLICT DO NOTHING";
+
+    private final UserRepository userRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final JdbcTemplate jdbcTemplate;
+    private final EmailService emailService;
+    private final SearchSuggestService searchSuggestService;
+    private final AdminStatsService adminStatsService;
+
+    // 0 means one thread per core
+    @Value("${users.import.hash-threads:0}")
+    private int hashThreads;
+
+    private record Row(int line, String username, String displayName, String email, String password, Role role) {
+    }
+
+    private record Account(Row row, String passwordHash) {
+    }
+
+    // Progress of one import
+    private static final class Progress {
+        final Set<String> usernames = new HashSet<>();
+        final Set<String> emails = new HashSet<>();
+        final List<String> errors = new ArrayList<>();
+        int imported;
+        int skipped;
+
+        void reject(int line, String reason) {
+            skipped++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("Line " + line + ": " + reason);
+            }
+        }
+    }
+
+    public UserImportResult importCsv(InputStream csv) throws IOException {
+        Progress progress = new Progress();
+        ExecutorService hashers = Executors.newFixedThreadPool(
+                hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors());
+        try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+            Map<String, Integer> columns = columns(reader.next());
+            List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+            for (List<String> record = reader.next(); record != null; record = reader.next()) {
+                Row row = parse(reader.recordLine(), record, columns, progress);
+                if (row != null) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, hashers, progress);
+                    chunk.clear();
+                }
+            }
+            importChunk(chunk, hashers, progress);
+        } finally {
+            hashers.shutdownNow();
+            adminStatsService.usersRegistered(progress.imported);
+        }
+        log.info("Imported {} users, skipped {}", progress.imported, progress.skipped);
+        return new UserImportResult(progress.imported, progress.skipped, progress.errors);
+    }
+
+    private Map<String, Integer> columns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+            }
+        }
+        if (!columns.keySet().containsAll(List.of("username", "email", "password"))) {
+            throw new RuntimeException("The first line must name the columns username, email and password");
+        }
+        return columns;
+    }
+
+    // Validates one record and checks it against earlier rows of the same file; null if rejected
+    private Row parse(int line, List<String> record, Map<String, Integer> columns, Progress progress) {
+        RegisterRequest request = new RegisterRequest();
+        request.setUsername(value(record, columns, "username"));
+        request.setEmail(value(record, columns, "email"));
+        request.setPassword(value(record, columns, "password"));
+        request.setConfirmPassword(request.getPassword());
+
+        List<String> problems = new ArrayList<>();
+        for (ConstraintViolation<RegisterRequest> violation : validator.validate(request)) {
+            problems.add(violation.getPropertyPath() + " " + violation.getMessage());
+        }
+        String displayName = value(record, columns, "display_name");
+        if (displayName != null && displayName.length() > 100) {
+            problems.add("display_name size must be between 0 and 100");
+        }
+        String roleName = value(record, columns, "role");
+        Role role = Role.STUDENT;
+        if (roleName != null) {
+            role = Arrays.stream(Role.values()).filter(r -> r.name().equalsIgnoreCase(roleName)).findFirst().orElse(null);
+            if (!IMPORTABLE_ROLES.contains(role)) {
+                problems.add("role must be STUDENT or SUB_ADMIN");
+            }
+        }
+        if (!problems.isEmpty()) {
+            Collections.sort(problems);
+            progress.reject(line, String.join(", ", problems));
+            return null;
+        }
+
+        if (!progress.usernames.add(request.getUsername())) {
+            progress.reject(line, "username appears earlier in the file");
+            return null;
+        }
+        if (!progress.emails.add(request.getEmail())) {
+            progress.reject(line, "email appears earlier in the file");
+            return null;
+        }
+        return new Row(line, request.getUsername(), displayName, request.getEmail(), request.getPassword(), role);
+    }
+
+    private void importChunk(List<Row> chunk, ExecutorService hashers, Progress progress) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        Set<String> takenUsernames = new HashSet<>(userRepository.findExistingUsernames(chunk.stream().map(Row::username).toList()));
+        Set<String> takenEmails = new HashSet<>(userRepository.findExistingEmails(chunk.stream().map(Row::email).toList()));
+        List<Row> fresh = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (takenUsernames.contains(row.username())) {
+                progress.reject(row.line(), "username already taken");
+            } else if (takenEmails.contains(row.email())) {
+                progress.reject(row.line(), "email already taken");
+            } else {
+                fresh.add(row);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+
+        List<Account> accounts = hash(fresh, hashers);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int[][] counts = jdbcTemplate.batchUpdate(INSERT, accounts, accounts.size(), (statement, account) -> {
+            statement.setString(1, account.row().username());
+            statement.setString(2, account.row().displayName());
+            statement.setString(3, account.row().email());
+            statement.setString(4, account.passwordHash());
+            statement.setString(5, account.row().role().name());
+            statement.setTimestamp(6, now);
+        });
+
+        List<Row> inserted = new ArrayList<>(accounts.size());
+        for (int i = 0; i < accounts.size(); i++) {
+            Row row = accounts.get(i).row();
+            if (counts[0][i] == 0) {
+                progress.reject(row.line(), "username or email already taken");
+            } else {
+                inserted.add(row);
+            }
+        }
+        if (inserted.isEmpty()) {
+            return;
+        }
+        progress.imported += inserted.size();
+        searchSuggestService.usersChanged(userRepository.findIdsByUsernameIn(inserted.stream().map(Row::username).toList()));
+        inserted.forEach(row -> emailService.queueWelcomeEmail(row.email(), row.username()));
+    }
+
+    // BCrypt is deliberately slow, so the chunk's passwords are encoded in parallel
+    private List<Account> hash(List<Row> rows, ExecutorService hashers) {
+        List<Callable<String>> tasks = rows.stream()
+                .map(row -> (Callable<String>) () -> passwordEncoder.encode(row.password()))
+                .toList();
+        try {
+            List<Future<String>> hashes = hashers.invokeAll(tasks);
+            List<Account> accounts = new ArrayList<>(rows.size());
+            for (int i = 0; i < rows.size(); i++) {
+                accounts.add(new Account(rows.get(i), hashes.get(i).get()));
+            }
+            return accounts;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Import interrupted");
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static String value(List<String> record, Map<String, Integer> columns, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= record.size()) {
+            return null;
+        }
+        String value = record.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Reads RFC 4180 records: comma separated, optionally double-quoted fields that may contain
+     * commas, doubled quotes and line breaks. Blank lines are skipped.
+     */
+    static final class CsvReader implements Closeable {
+
+        private final PushbackReader in;
+        private int line = 1;
+        private int recordLine;
+
+        CsvReader(Reader in) throws IOException {
+            this.in = new PushbackReader(new BufferedReader(in), 1);
+            int first = this.in.read();
+            if (first != '\uFEFF' && first != -1) {
+                this.in.unread(first);
+            }
+        }
+
+        int recordLine() {
+            return recordLine;
+        }
+
+        List<String> next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n') {
+                c = read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            recordLine = line;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        break;
+                    }
+                    if (c == '"') {
+                        int after = read();
+                        if (after != '"') {
+                            quoted = false;
+                            c = after;
+                            continue;
+                        }
+                    }
+                    field.append((char) c);
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n' || c == '\r' || c == -1) {
+                    if (c == '\r') {
+                        int after = read();
+                        if (after != '\n' && after != -1) {
+                            in.unread(after);
+                        }
+                    }
+                    break;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+
+        private int read() throws IOException {
+            int c = in.read();
+            if (c == '\n') {
+                line++;
+            }
+            return c;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
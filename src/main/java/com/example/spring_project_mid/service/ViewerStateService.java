@@ -0,0 +1,34 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.ViewerState;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.repository.SavedPostRepository;
+import com.example.spring_project_mid.repository.VoteRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.HashSet;
+
+@Service
+@RequiredArgsConstructor
+public class ViewerStateService {
+
+    private final VoteRepository voteRepository;
+    private final SavedPostRepository savedPostRepository;
+
+    /**
+     * Looks up which of the given posts the viewer has liked and saved.
+     * Costs one indexed query per state for the whole page, whatever the number of likes.
+     */
+    @Transactional(readOnly = true)
+    public ViewerState forPosts(User viewer, Collection<Long> postIds) {
+        if (viewer == null || postIds.isEmpty()) {
+            return ViewerState.EMPTY;
+        }
+        return new ViewerState(
+                new HashSet<>(voteRepository.findPostIdsLikedBy(viewer.getId(), postIds)),
+                new HashSet<>(savedPostRepository.findPostIdsSavedBy(viewer.getId(), postIds)));
+    }
+}
@@ -44,9 +44,18 @@ CREATE TABLE posts (
                        faculty_id BIGINT REFERENCES faculties(id),
                        user_id BIGINT REFERENCES users(id) ON DELETE SET NULL, -- Use SET NULL or CASCADE
                        created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-                       updated_at TIMESTAMP
+                       updated_at TIMESTAMP,
+    -- Denormalized counters, maintained by the like/save/comment endpoints
+                       like_count INTEGER NOT NULL DEFAULT 0,
+                       comment_count INTEGER NOT NULL DEFAULT 0,
+                       save_count INTEGER NOT NULL DEFAULT 0,
+    -- Set by the search indexer, so posts without any search terms are not rescanned
+                       search_indexed_at TIMESTAMP
 );
 
+-- Keyset pagination for the home feed (ORDER BY created_at DESC, id DESC)
+CREATE INDEX idx_posts_created_at_id ON posts (created_at DESC, id DESC);
+
 -- 5) COMMENTS TABLE (FIXED)
 CREATE TABLE comments (
                           id BIGSERIAL PRIMARY KEY,
@@ -57,6 +66,11 @@ CREATE TABLE comments (
                           created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+CREATE INDEX idx_comments_post_id ON comments (post_id);
+-- Post details: a page of root comments, then the replies below them
+CREATE INDEX idx_comments_post_id_created_at ON comments (post_id, created_at, id);
+CREATE INDEX idx_comments_parent_comment_id ON comments (parent_comment_id);
+
 -- 6) VOTES / LIKES (FIXED)
 CREATE TABLE votes (
                        id BIGSERIAL PRIMARY KEY,
@@ -67,14 +81,29 @@ CREATE TABLE votes (
                        UNIQUE (post_id, user_id)
 );
 
+-- "Which of these posts has this user liked?" lookups for feed pages
+CREATE INDEX idx_votes_user_post ON votes (user_id, post_id);
+
 
 -- 7) NOTIFICATIONS TABLE
 CREATE TABLE notifications (
                                id BIGSERIAL PRIMARY KEY,
                                user_id BIGINT REFERENCES users(id) ON DELETE CASCADE,
-                               message TEXT NOT NULL,
+    -- Text is rendered on read from type, actor and post (messages.properties)
+                               type VARCHAR(40),
+                               actor_id BIGINT,
+                               post_id BIGINT,
+    -- Pre-rendered text of rows from before notifications were typed
+                               message TEXT,
+                               link VARCHAR(255),
                                is_read BOOLEAN DEFAULT FALSE,
-                               created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                               created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    -- Coalescing: likes/comments about the same post within one window share a row
+                               group_key VARCHAR(100),
+                               group_window BIGINT,
+                               actor_count INTEGER,
+                               actor_ids BIGINT[],
+                               CONSTRAINT uk_notifications_group UNIQUE (user_id, group_key, group_window)
 );
 
 -- 8) IMAGES TABLE (NEW)
@@ -85,3 +114,48 @@ CREATE TABLE images (
                         post_id BIGINT REFERENCES posts(id) ON DELETE CASCADE,
                         created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
+
+-- 9) POST SEARCH INDEX
+-- One row per (stemmed term, post), maintained by PostSearchService
+CREATE SEQUENCE post_search_terms_seq INCREMENT BY 50;
+CREATE TABLE post_search_terms (
+                                   id BIGINT PRIMARY KEY,
+                                   term VARCHAR(64) NOT NULL,
+                                   post_id BIGINT NOT NULL REFERENCES posts(id) ON DELETE CASCADE,
+                                   weight INT NOT NULL,
+                                   CONSTRAINT uk_post_search_terms_term_post UNIQUE (term, post_id)
+);
+
+CREATE INDEX idx_post_search_terms_post_id ON post_search_terms (post_id);
+
+-- 10) ADMIN USER SEARCH (created at startup by DatabaseIndexInitializer)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX idx_users_username_trgm ON users USING gin (lower(username) gin_trgm_ops);
+CREATE INDEX idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
+CREATE INDEX idx_users_display_name_trgm ON users USING gin (lower(display_name) gin_trgm_ops);
+CREATE INDEX idx_users_username_id ON users (username, id);
+CREATE INDEX idx_users_email_id ON users (email, id);
+CREATE INDEX idx_users_role_id ON users (role, id);
+CREATE INDEX idx_users_enabled_id ON users (enabled, id);
+
+-- 11) NOTIFICATION LOOKUPS (created at startup by DatabaseIndexInitializer)
+CREATE INDEX idx_notifications_user_unread ON notifications (user_id) WHERE is_read = false;
+CREATE INDEX idx_notifications_user_created ON notifications (user_id, created_at, id);
+CREATE INDEX idx_notifications_read_created ON notifications (created_at) WHERE is_read = true;
+
+-- 12) NOTIFICATION ARCHIVE
+-- Read notifications past the retention age, moved here in batches by NotificationRetentionService
+CREATE TABLE notifications_archive (
+                                       id BIGINT PRIMARY KEY,
+                                       user_id BIGINT NOT NULL,
+                                       type VARCHAR(40),
+                                       actor_id BIGINT,
+                                       post_id BIGINT,
+                                       actor_count INTEGER,
+                                       actor_ids BIGINT[],
+                                       message TEXT,
+                                       link VARCHAR(255),
+                                       created_at TIMESTAMP,
+                                       archived_at TIMESTAMP NOT NULL
+);
+CREATE INDEX idx_notifications_archive_user_id ON notifications_archive (user_id);
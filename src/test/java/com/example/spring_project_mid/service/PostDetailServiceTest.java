@@ -0,0 +1,143 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.CommentThread;
+import com.example.spring_project_mid.dto.CommentView;
+import com.example.spring_project_mid.dto.FeedCursor;
+import com.example.spring_project_mid.dto.PostDetails;
+import com.example.spring_project_mid.model.Comment;
+import com.example.spring_project_mid.model.Image;
+import com.example.spring_project_mid.model.Post;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.Role;
+import com.example.spring_project_mid.repository.CommentRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the query plan of the post details page: the number of statements must not grow with
+ * the number of comments, replies, authors or images.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({PostDetailService.class, PostSummaryService.class})
+class PostDetailServiceTest {
+
+    private static final int ROOT_COMMENTS = 30;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostDetailService postDetailService;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    private Statistics statistics;
+    private Long postId;
+    private Comment oldestRoot;
+
+    @BeforeEach
+    void seedThread() {
+        User author = user("author");
+        Post post = new Post();
+        post.setTitle("Popular thread");
+        post.setContent("Lots of discussion");
+        post.setUser(author);
+        for (int i = 0; i < 3; i++) {
+            post.getImages().add(Image.builder().url("https://example.com/" + i + ".png").post(post).build());
+        }
+        entityManager.persist(post);
+
+        // Every root comment gets a reply and a reply to that reply, each from a different user
+        for (int i = 0; i < ROOT_COMMENTS; i++) {
+            Comment root = comment(post, user("root" + i), null);
+            if (i == 0) {
+                oldestRoot = root;
+            }
+            Comment reply = comment(post, user("reply" + i), root);
+            comment(post, user("nested" + i), reply);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        postId = post.getId();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void firstPageUsesFixedNumberOfQueries() {
+        PostDetails details = postDetailService.load(postId, null);
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(3, details.post().imageUrls().size());
+        assertEquals("author", details.post().author().username());
+        assertEquals(PostDetailService.COMMENT_PAGE_SIZE, details.comments().size());
+        assertNotNull(details.olderCommentsCursor());
+
+        CommentThread newest = details.comments().get(0);
+        assertEquals("root" + (ROOT_COMMENTS - 1), newest.comment().author().username());
+        assertEquals(2, newest.replyCount());
+        assertEquals("nested" + (ROOT_COMMENTS - 1),
+                newest.replies().get(0).replies().get(0).comment().author().username());
+    }
+
+    @Test
+    void olderPageUsesFixedNumberOfQueries() {
+        String cursor = postDetailService.load(postId, null).olderCommentsCursor();
+        entityManager.clear();
+        statistics.clear();
+
+        PostDetails details = postDetailService.load(postId, FeedCursor.parse(cursor));
+
+        assertEquals(4, statistics.getPrepareStatementCount());
+        assertEquals(ROOT_COMMENTS - PostDetailService.COMMENT_PAGE_SIZE, details.comments().size());
+        assertNull(details.olderCommentsCursor());
+        assertTrue(details.comments().stream().allMatch(thread -> thread.replyCount() == 2));
+    }
+
+    @Test
+    void loadsOnlyRepliesBelowTheRootsOnThePage() {
+        // Newer than every root on the first page, but below a root that is not on it
+        comment(entityManager.find(Post.class, postId), user("late"), entityManager.find(Comment.class, oldestRoot.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<Long> rootIds = postDetailService.load(postId, null).comments().stream()
+                .map(thread -> thread.comment().id())
+                .toList();
+        List<CommentView> replies = commentRepository.findReplyViewsBelow(rootIds);
+
+        assertEquals(2 * PostDetailService.COMMENT_PAGE_SIZE, replies.size());
+        assertTrue(replies.stream().noneMatch(reply -> reply.author().username().equals("late")));
+    }
+
+    private User user(String username) {
+        return entityManager.persist(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret")
+                .role(Role.STUDENT)
+                .build());
+    }
+
+    private Comment comment(Post post, User user, Comment parent) {
+        return entityManager.persist(Comment.builder()
+                .post(post)
+                .user(user)
+                .parentComment(parent)
+                .content("Comment by " + user.getUsername())
+                .build());
+    }
+}
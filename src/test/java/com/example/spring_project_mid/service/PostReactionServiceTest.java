@@ -0,0 +1,155 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.ReactionState;
+import com.example.spring_project_mid.model.Post;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.Role;
+import com.example.spring_project_mid.repository.PostRepository;
+import com.example.spring_project_mid.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Hammers one post with likes and saves from many threads at once. The statements under test are
+ * PostgreSQL-specific, so this runs against the configured database like the context test; the
+ * users and post it creates are removed afterwards.
+ */
+@SpringBootTest
+class PostReactionServiceTest {
+
+    private static final int USERS = 8;
+    private static final int REPEATS = 5;
+
+    @Autowired
+    private PostReactionService postReactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<User> users = new ArrayList<>();
+    private User owner;
+    private Long postId;
+
+    @BeforeEach
+    void seedPost() {
+        String prefix = "reaction-" + System.nanoTime() + "-";
+        owner = user(prefix + "owner");
+        for (int i = 0; i < USERS; i++) {
+            users.add(user(prefix + i));
+        }
+        Post post = new Post();
+        post.setTitle("Popular post");
+        post.setContent("Everyone clicks at once");
+        post.setUser(owner);
+        postId = postRepository.save(post).getId();
+    }
+
+    @AfterEach
+    void removeSeed() {
+        jdbcTemplate.update("DELETE FROM votes WHERE post_id = ?", postId);
+        jdbcTemplate.update("DELETE FROM saved_posts WHERE post_id = ?", postId);
+        jdbcTemplate.update("DELETE FROM notifications WHERE user_id = ?", owner.getId());
+        jdbcTemplate.update("DELETE FROM posts WHERE id = ?", postId);
+        users.add(owner);
+        userRepository.deleteAllById(users.stream().map(User::getId).toList());
+    }
+
+    @Test
+    void repeatedConcurrentLikesCountEachUserOnce() throws Exception {
+        List<ReactionState> liked = hammer(users, user -> postReactionService.setLiked(postId, user, true));
+        assertTrue(liked.stream().allMatch(ReactionState::active));
+        assertEquals(USERS, likeCount());
+        assertEquals(USERS, rows("votes"));
+        assertEquals(USERS, awaitLikeNotification(), "one coalesced notification naming every liker once");
+
+        List<ReactionState> unliked = hammer(users, user -> postReactionService.setLiked(postId, user, false));
+        assertTrue(unliked.stream().noneMatch(ReactionState::active));
+        assertTrue(unliked.stream().allMatch(state -> state.count() >= 0));
+        assertEquals(0, likeCount());
+        assertEquals(0, rows("votes"));
+    }
+
+    @Test
+    void repeatedConcurrentSavesCountEachUserOnceAndNeverTheOwner() throws Exception {
+        List<User> everyone = new ArrayList<>(users);
+        everyone.add(owner);
+        List<ReactionState> saved = hammer(everyone, user -> postReactionService.setSaved(postId, user, true));
+
+        assertEquals(USERS * REPEATS, saved.stream().filter(ReactionState::active).count());
+        assertEquals(USERS, postRepository.findById(postId).orElseThrow().getSaveCount());
+        assertEquals(USERS, rows("saved_posts"));
+    }
+
+    // Every user sends the same request REPEATS times, all threads released together
+    private List<ReactionState> hammer(List<User> clickers, Function<User, ReactionState> request) throws Exception {
+        int tasks = clickers.size() * REPEATS;
+        ExecutorService pool = Executors.newFixedThreadPool(tasks);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ReactionState>> results = new ArrayList<>(tasks);
+            for (int i = 0; i < REPEATS; i++) {
+                for (User user : clickers) {
+                    results.add(pool.submit(() -> {
+                        start.await();
+                        return request.apply(user);
+                    }));
+                }
+            }
+            start.countDown();
+            List<ReactionState> states = new ArrayList<>(tasks);
+            for (Future<ReactionState> result : results) {
+                states.add(result.get(30, TimeUnit.SECONDS));
+            }
+            return states;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int likeCount() {
+        return postRepository.findById(postId).orElseThrow().getLikeCount();
+    }
+
+    private int rows(String table) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + table + " WHERE post_id = ?", Integer.class, postId);
+    }
+
+    // Likes notify through the asynchronous writer; waits for it and returns how many likers were notified about
+    private int awaitLikeNotification() throws InterruptedException {
+        int actors = 0;
+        for (int attempt = 0; attempt < 50 && actors < USERS; attempt++) {
+            Thread.sleep(100);
+            // Summed in case the likes straddle a coalescing window boundary
+            actors = jdbcTemplate.queryForObject("SELECT COALESCE(SUM(actor_count), 0) FROM notifications "
+                    + "WHERE user_id = ? AND type = 'POST_LIKED'", Integer.class, owner.getId());
+        }
+        return actors;
+    }
+
+    private User user(String username) {
+        return userRepository.save(User.builder()
+                .username(username)
+                .email(username + "@example.com")
+                .password("secret")
+                .role(Role.STUDENT)
+                .enabled(true)
+                .build());
+    }
+}
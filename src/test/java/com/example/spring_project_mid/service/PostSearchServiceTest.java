@@ -0,0 +1,147 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.FeedPage;
+import com.example.spring_project_mid.dto.PostSummary;
+import com.example.spring_project_mid.model.Post;
+import com.example.spring_project_mid.model.User;
+import com.example.spring_project_mid.model.enums.Role;
+import com.example.spring_project_mid.repository.PostSearchTermRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@Import({PostSearchService.class, PostSummaryCache.class, PostSummaryService.class})
+class PostSearchServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PostSearchService postSearchService;
+
+    @Autowired
+    private PostSearchTermRepository postSearchTermRepository;
+
+    private User author;
+
+    @BeforeEach
+    void createAuthor() {
+        author = entityManager.persist(User.builder()
+                .username("sokha")
+                .displayName("Sokha Chan")
+                .email("sokha@example.com")
+                .password("secret")
+                .role(Role.STUDENT)
+                .build());
+    }
+
+    @Test
+    void stemsDocumentsAndQueriesAlike() {
+        assertEquals(SearchTokenizer.terms("events created running studies"),
+                SearchTokenizer.terms("Event creating runs study"));
+        assertEquals(List.of("room", "7"), SearchTokenizer.terms("The room 7!"));
+    }
+
+    @Test
+    void ranksPostsMatchingMoreTermsAndTitlesFirst() {
+        Long inText = post("Weekly notes", "The robotics club meets on Friday");
+        Long inTitle = post("Robotics club", "Meeting this week");
+        Long oneTerm = post("Robotics workshop", "Hands-on session");
+        post("Unrelated", "Football practice");
+
+        assertEquals(List.of(inTitle, inText, oneTerm), ids(postSearchService.search("robotics clubs", 0)));
+        assertEquals(List.of(oneTerm), ids(postSearchService.search("workshops", 0)));
+        assertTrue(postSearchService.search("", 0).posts().isEmpty());
+    }
+
+    @Test
+    void matchesAuthorNames() {
+        Long id = post("Hello", "First post");
+
+        assertEquals(List.of(id), ids(postSearchService.search("chan", 0)));
+    }
+
+    @Test
+    void followsEditsSuspensionsAndDeletes() {
+        Long id = post("Library hours", "Open until nine");
+
+        Post post = entityManager.find(Post.class, id);
+        post.setTitle("Canteen hours");
+        post.setSuspended(true);
+        entityManager.flush();
+        postSearchService.reindex(id);
+        assertTrue(postSearchService.search("canteen", 0).posts().isEmpty());
+
+        post.setSuspended(false);
+        entityManager.flush();
+        postSearchService.reindex(id);
+        assertEquals(List.of(id), ids(postSearchService.search("canteen", 0)));
+        assertTrue(postSearchService.search("library", 0).posts().isEmpty());
+
+        entityManager.clear();
+        entityManager.remove(entityManager.find(Post.class, id));
+        entityManager.flush();
+        assertTrue(postSearchService.search("canteen", 0).posts().isEmpty());
+    }
+
+    @Test
+    void pagesThroughResults() {
+        for (int i = 0; i < PostSearchService.PAGE_SIZE + 3; i++) {
+            post("Exam schedule " + i, "Timetable");
+        }
+
+        FeedPage first = postSearchService.search("exam", 0);
+        assertEquals(PostSearchService.PAGE_SIZE, first.posts().size());
+        assertEquals("1", first.nextCursor());
+
+        FeedPage second = postSearchService.search("exam", 1);
+        assertEquals(3, second.posts().size());
+        assertNull(second.nextCursor());
+    }
+
+    @Test
+    void indexesMissingPostsOnceEvenWithoutTerms() {
+        Long first = unindexedPost("Chess tournament", "Saturday", author);
+        Long second = unindexedPost("Chess club", "Weekly games", author);
+        User nameless = entityManager.persist(User.builder()
+                .username("x")
+                .email("x@example.com")
+                .password("secret")
+                .role(Role.STUDENT)
+                .build());
+        unindexedPost("The", "...", nameless);
+
+        postSearchService.indexMissing();
+
+        assertEquals(List.of(second, first), ids(postSearchService.search("chess", 0)));
+        assertTrue(postSearchTermRepository.findUnindexedPostIds(0L, Limit.of(10)).isEmpty());
+    }
+
+    private Long post(String title, String content) {
+        Long id = unindexedPost(title, content, author);
+        postSearchService.reindex(id);
+        return id;
+    }
+
+    private Long unindexedPost(String title, String content, User user) {
+        Post post = new Post();
+        post.setTitle(title);
+        post.setContent(content);
+        post.setUser(user);
+        entityManager.persistAndFlush(post);
+        return post.getId();
+    }
+
+    private static List<Long> ids(FeedPage page) {
+        return page.posts().stream().map(PostSummary::id).toList();
+    }
+}
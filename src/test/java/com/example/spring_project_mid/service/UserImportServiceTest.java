@@ -0,0 +1,133 @@
+package com.example.spring_project_mid.service;
+
+import com.example.spring_project_mid.dto.UserImportResult;
+import com.example.spring_project_mid.repository.UserRepository;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.util.Collection;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Covers the CSV reader and how every rejected row is reported back with its line number: invalid
+ * values, duplicates within the file, accounts that already exist and rows the INSERT skipped
+ * because a concurrent registration took the name first. The database is mocked.
+ */
+class UserImportServiceTest {
+
+    private final ValidatorFactory validation = Validation.buildDefaultValidatorFactory();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final EmailService emailService = mock(EmailService.class);
+
+    private UserImportService userImportService;
+
+    @BeforeEach
+    void createService() throws Exception {
+        when(userRepository.findExistingUsernames(anyCollection())).thenReturn(List.of("taken"));
+        when(userRepository.findExistingEmails(anyCollection())).thenReturn(List.of("used@example.com"));
+        // The INSERT ... ON CONFLICT DO NOTHING writes every row except the one that lost a race
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any())).thenAnswer(call -> {
+            Collection<Object> accounts = call.getArgument(1);
+            ParameterizedPreparedStatementSetter<Object> setter = call.getArgument(3);
+            int[] counts = new int[accounts.size()];
+            int i = 0;
+            for (Object account : accounts) {
+                PreparedStatement statement = mock(PreparedStatement.class);
+                setter.setValues(statement, account);
+                counts[i++] = mockingDetails(statement).getInvocations().stream()
+                        .anyMatch(invocation -> "racer".equals(invocation.getArguments()[1])) ? 0 : 1;
+            }
+            return new int[][]{counts};
+        });
+        userImportService = new UserImportService(userRepository, NoOpPasswordEncoder.getInstance(),
+                validation.getValidator(), jdbcTemplate, emailService, mock(SearchSuggestService.class),
+                mock(AdminStatsService.class));
+    }
+
+    @AfterEach
+    void closeValidation() {
+        validation.close();
+    }
+
+    @Test
+    void readsQuotedFieldsLineBreaksAndByteOrderMark() throws IOException {
+        String csv = "\uFEFFa,\"b, with comma\",\"say \"\"hi\"\"\"\r\n"
+                + "\r\n"
+                + "\"two\nlines\",,last\n"
+                + "plain";
+        try (UserImportService.CsvReader reader = new UserImportService.CsvReader(new StringReader(csv))) {
+            assertEquals(List.of("a", "b, with comma", "say \"hi\""), reader.next());
+            assertEquals(1, reader.recordLine());
+            assertEquals(List.of("two\nlines", "", "last"), reader.next());
+            assertEquals(3, reader.recordLine());
+            assertEquals(List.of("plain"), reader.next());
+            assertEquals(5, reader.recordLine());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void readsAnUnterminatedQuoteToTheEndOfTheFile() throws IOException {
+        try (UserImportService.CsvReader reader = new UserImportService.CsvReader(new StringReader("\"open,\nstill open"))) {
+            assertEquals(List.of("open,\nstill open"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    void reportsEveryRejectedRowByLine() throws IOException {
+        UserImportResult result = importCsv(
+                "username,email,password,display_name,role",
+                "sokha,sokha@example.com,password1,Sokha Chan,student",
+                "x,not-an-email,short,,",
+                "sokha,other@example.com,password1,,",
+                "dara,sokha@example.com,password1,,",
+                "taken,taken@example.com,password1,,",
+                "vanna,used@example.com,password1,,",
+                "racer,racer@example.com,password1,,",
+                "admin1,admin1@example.com,password1,,SUPER_ADMIN",
+                "\"Chan, Sokha\",\"quoted@example.com\",password1,\"Line one",
+                "line two\",SUB_ADMIN");
+
+        assertEquals(2, result.imported());
+        assertEquals(7, result.skipped());
+        assertEquals(List.of(
+                "Line 3: email must be a well-formed email address, password size must be between 8 and 50, "
+                        + "username size must be between 3 and 50",
+                "Line 4: username appears earlier in the file",
+                "Line 5: email appears earlier in the file",
+                "Line 9: role must be STUDENT or SUB_ADMIN",
+                "Line 6: username already taken",
+                "Line 7: email already taken",
+                "Line 8: username or email already taken"), result.errors());
+        verify(emailService).queueWelcomeEmail("sokha@example.com", "sokha");
+        verify(emailService).queueWelcomeEmail("quoted@example.com", "Chan, Sokha");
+        verifyNoMoreInteractions(emailService);
+    }
+
+    @Test
+    void rejectsAFileWithoutTheRequiredColumns() {
+        RuntimeException error = assertThrows(RuntimeException.class, () -> importCsv("name,email"));
+        assertEquals("The first line must name the columns username, email and password", error.getMessage());
+    }
+
+    private UserImportResult importCsv(String... lines) throws IOException {
+        return userImportService.importCsv(new ByteArrayInputStream(String.join("\n", lines).getBytes(StandardCharsets.UTF_8)));
+    }
+}